@@ -0,0 +1,76 @@
+package com.turfbooking.turf_booking_backend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import javax.sql.DataSource;
+
+/**
+ * Detects whether the slot exclusion constraint installed by migration
+ * V2__booking_slot_exclusion is present. When it is, overlapping bookings are
+ * rejected by PostgreSQL; otherwise BookingService falls back to in-process locks.
+ */
+@Component
+public class BookingSchemaInspector implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingSchemaInspector.class);
+
+    public static final String SLOT_EXCLUSION_CONSTRAINT = "bookings_no_overlapping_slots";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private volatile boolean slotExclusionEnforced;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        refresh();
+    }
+
+    public void refresh() {
+        if (!isPostgres()) {
+            slotExclusionEnforced = false;
+            log.info("Slot exclusion constraint requires PostgreSQL; using in-process booking locks");
+            return;
+        }
+        try {
+            Integer found = transactionTemplate.execute(status -> jdbcTemplate.queryForObject(
+                    "SELECT count(*) FROM pg_constraint WHERE conname = ?", Integer.class, SLOT_EXCLUSION_CONSTRAINT));
+            slotExclusionEnforced = found != null && found > 0;
+        } catch (Exception e) {
+            log.warn("Could not check for slot exclusion constraint: {}", e.getMessage());
+            slotExclusionEnforced = false;
+        }
+        if (slotExclusionEnforced) {
+            log.info("Slot exclusion constraint {} is active", SLOT_EXCLUSION_CONSTRAINT);
+        } else {
+            log.warn("Slot exclusion constraint {} is missing; using in-process booking locks", SLOT_EXCLUSION_CONSTRAINT);
+        }
+    }
+
+    public boolean isSlotExclusionEnforced() {
+        return slotExclusionEnforced;
+    }
+
+    private boolean isPostgres() {
+        try (Connection connection = dataSource.getConnection()) {
+            return "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+        } catch (Exception e) {
+            log.warn("Could not determine database type: {}", e.getMessage());
+            return false;
+        }
+    }
+}
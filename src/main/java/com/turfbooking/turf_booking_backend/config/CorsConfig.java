@@ -33,11 +33,13 @@ public class CorsConfig {
                 "X-Requested-With",
                 "Accept",
                 "Origin",
-                "Cookie"
+                "Cookie",
+                "Idempotency-Key",
+                "Last-Event-ID"
         ));
 
         // ✅ Added: Allow browser to access JWT header and Set-Cookie
-        configuration.setExposedHeaders(Arrays.asList("Authorization", "Set-Cookie"));
+        configuration.setExposedHeaders(Arrays.asList("Authorization", "Set-Cookie", "Idempotent-Replayed"));
 
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L);
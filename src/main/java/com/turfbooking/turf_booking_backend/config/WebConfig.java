@@ -18,8 +18,8 @@ public class WebConfig implements WebMvcConfigurer {
                         "https://frontend-bookmytruf-git-main-yagnamodi22s-projects.vercel.app"
                 )
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH")
-                .allowedHeaders("Authorization", "Content-Type", "X-Requested-With", "Accept", "Origin")
-                .exposedHeaders("Authorization")
+                .allowedHeaders("Authorization", "Content-Type", "X-Requested-With", "Accept", "Origin", "Idempotency-Key", "Last-Event-ID")
+                .exposedHeaders("Authorization", "Idempotent-Replayed")
                 .allowCredentials(true)
                 .maxAge(3600);
     }
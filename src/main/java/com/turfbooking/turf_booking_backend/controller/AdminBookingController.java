@@ -2,12 +2,20 @@ package com.turfbooking.turf_booking_backend.controller;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 
+import com.turfbooking.turf_booking_backend.service.BookingCommandExecutor;
+import com.turfbooking.turf_booking_backend.service.BookingRollupService;
 import com.turfbooking.turf_booking_backend.service.BookingService;
+import com.turfbooking.turf_booking_backend.service.BookingTimeSeriesService;
 
+import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -18,12 +26,63 @@ public class AdminBookingController {
     @Autowired
     private BookingService bookingService;
 
+    @Autowired
+    private BookingCommandExecutor bookingCommandExecutor;
+
+    @Autowired
+    private BookingRollupService bookingRollupService;
+
+    @Autowired
+    private BookingTimeSeriesService bookingTimeSeriesService;
+
     @GetMapping("/stats")
     public ResponseEntity<Map<String, Object>> getBookingStats() {
-        Map<String, Object> stats = new HashMap<>();
-        stats.put("totalBookings", bookingService.getTotalBookings());
-        stats.put("totalRevenue", bookingService.getTotalRevenue());
+        Map<String, Object> stats = bookingService.getBookingStats();
         stats.put("activeUsers", bookingService.getActiveUserCount());
         return ResponseEntity.ok(stats);
     }
+
+    // Queue depths and wait times for the single-writer booking executor
+    @GetMapping("/executor-stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getExecutorStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", bookingCommandExecutor.isEnabled());
+        stats.putAll(bookingCommandExecutor.getStats());
+        return ResponseEntity.ok(stats);
+    }
+
+    // Bookings and revenue per day, ISO week or month, optionally for a single turf
+    @GetMapping("/timeseries")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getTimeSeries(
+            @RequestParam(defaultValue = "DAY") String granularity,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long turfId) {
+        try {
+            BookingTimeSeriesService.Granularity bucketSize;
+            try {
+                bucketSize = BookingTimeSeriesService.Granularity.valueOf(granularity.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("Unsupported granularity: " + granularity);
+            }
+            return ResponseEntity.ok(bookingTimeSeriesService.getSeries(bucketSize, from, to, turfId));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Failed to fetch time series: " + e.getMessage());
+        }
+    }
+
+    // Recomputes the daily booking rollup from the bookings table
+    @PostMapping("/rollup/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> rebuildRollup() {
+        try {
+            Map<String, Object> result = new HashMap<>();
+            result.put("turfDays", bookingRollupService.rebuild());
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Failed to rebuild booking rollup: " + e.getMessage());
+        }
+    }
 }
@@ -2,20 +2,34 @@ package com.turfbooking.turf_booking_backend.controller;
 
 import com.turfbooking.turf_booking_backend.dto.BookingDTO;
 import com.turfbooking.turf_booking_backend.dto.BookingDetailsDTO;
+import com.turfbooking.turf_booking_backend.dto.BookingViewDTO;
 import com.turfbooking.turf_booking_backend.entity.Booking;
 import com.turfbooking.turf_booking_backend.dto.MultiBookingDTO;
+import com.turfbooking.turf_booking_backend.entity.Turf;
+import com.turfbooking.turf_booking_backend.dto.SlotHoldDTO;
 import com.turfbooking.turf_booking_backend.entity.User;
+import com.turfbooking.turf_booking_backend.service.AvailabilityBroadcaster;
+import com.turfbooking.turf_booking_backend.service.BookingCommandExecutor;
 import com.turfbooking.turf_booking_backend.service.BookingDetailsService;
+import com.turfbooking.turf_booking_backend.service.BookingExportService;
 import com.turfbooking.turf_booking_backend.service.BookingService;
+import com.turfbooking.turf_booking_backend.service.IdempotencyService;
+import com.turfbooking.turf_booking_backend.service.SlotHoldService;
+import com.turfbooking.turf_booking_backend.service.TurfService;
 import com.turfbooking.turf_booking_backend.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
@@ -52,6 +66,26 @@ public class BookingController {
         public void setAmount(BigDecimal amount) { this.amount = amount; }
     }
 
+    // DTO class for confirming a slot hold
+    public static class HoldConfirmationRequest {
+        private String paymentMethod;
+        private String fullName;
+        private String phoneNumber;
+        private String email;
+
+        public String getPaymentMethod() { return paymentMethod; }
+        public void setPaymentMethod(String paymentMethod) { this.paymentMethod = paymentMethod; }
+
+        public String getFullName() { return fullName; }
+        public void setFullName(String fullName) { this.fullName = fullName; }
+
+        public String getPhoneNumber() { return phoneNumber; }
+        public void setPhoneNumber(String phoneNumber) { this.phoneNumber = phoneNumber; }
+
+        public String getEmail() { return email; }
+        public void setEmail(String email) { this.email = email; }
+    }
+
     @Autowired
     private BookingService bookingService;
 
@@ -61,16 +95,36 @@ public class BookingController {
     @Autowired
     private BookingDetailsService bookingDetailsService;
 
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private BookingCommandExecutor bookingCommandExecutor;
+
+    @Autowired
+    private AvailabilityBroadcaster availabilityBroadcaster;
+
+    @Autowired
+    private BookingExportService bookingExportService;
+
+    @Autowired
+    private TurfService turfService;
+
     @PostMapping
-    public ResponseEntity<?> createBooking(@Valid @RequestBody BookingDTO bookingDTO) {
-        try {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            String currentUserEmail = authentication.getName();
+    public ResponseEntity<?> createBooking(@Valid @RequestBody BookingDTO bookingDTO,
+                                           @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String currentUserEmail = authentication.getName();
+        return idempotencyService.execute("POST /bookings:" + currentUserEmail, idempotencyKey,
+                idempotencyService.fingerprint(bookingDTO), () -> doCreateBooking(currentUserEmail, bookingDTO));
+    }
 
+    private ResponseEntity<?> doCreateBooking(String currentUserEmail, BookingDTO bookingDTO) {
+        try {
             User user = userService.findByEmail(currentUserEmail)
                     .orElseThrow(() -> new RuntimeException("User not found"));
 
-            Booking booking = bookingService.createBooking(
+            Booking booking = bookingCommandExecutor.execute(bookingDTO.getTurfId(), () -> bookingService.createBooking(
                     user.getId(),
                     bookingDTO.getTurfId(),
                     bookingDTO.getBookingDate(),
@@ -80,9 +134,9 @@ public class BookingController {
                     bookingDTO.getPhoneNumber(),
                     bookingDTO.getEmail(),
                     bookingDTO.getPaymentMethod()
-            );
+            ));
 
-            return ResponseEntity.ok(booking);
+            return ResponseEntity.ok(BookingViewDTO.from(booking));
 
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Failed to create booking: " + e.getMessage());
@@ -90,21 +144,19 @@ public class BookingController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Booking> getBookingById(@PathVariable Long id) {
-        Optional<Booking> booking = bookingService.findById(id);
+    public ResponseEntity<BookingViewDTO> getBookingById(@PathVariable Long id) {
+        Optional<BookingViewDTO> booking = bookingService.findViewById(id);
         return booking.map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/my-bookings")
-    public ResponseEntity<List<Booking>> getMyBookings() {
+    public ResponseEntity<List<BookingViewDTO>> getMyBookings() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String currentUserEmail = authentication.getName();
 
-        User user = userService.findByEmail(currentUserEmail)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        List<Booking> bookings = bookingService.findBookingsByUser(user.getId());
+        // Joined on the user's email so the listing is a single query
+        List<BookingViewDTO> bookings = bookingService.findViewsByUserEmail(currentUserEmail);
         return ResponseEntity.ok(bookings);
     }
 
@@ -120,16 +172,16 @@ public class BookingController {
                     .orElseThrow(() -> new RuntimeException("Owner not found"));
 
             // Create offline booking
-            Booking booking = bookingService.createOfflineBooking(
+            Booking booking = bookingCommandExecutor.execute(request.getTurfId(), () -> bookingService.createOfflineBooking(
                     owner.getId(),
                     request.getTurfId(),
                     request.getDate(),
                     request.getStartTime(),
                     request.getEndTime(),
                     request.getAmount()
-            );
+            ));
 
-            return ResponseEntity.ok(booking);
+            return ResponseEntity.ok(BookingViewDTO.from(booking));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Failed to create offline booking: " + e.getMessage());
         }
@@ -177,32 +229,18 @@ public class BookingController {
         User user = userService.findByEmail(currentUserEmail)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        List<Booking> bookings = bookingService.findBookingsByUser(user.getId());
-        final int totalBookings = bookings != null ? bookings.size() : 0;
-        final BigDecimal totalSpent = (bookings != null)
-                ? bookings.stream()
-                    .map(b -> b.getTotalAmount() == null ? BigDecimal.ZERO : b.getTotalAmount())
-                    .reduce(BigDecimal.ZERO, BigDecimal::add)
-                : BigDecimal.ZERO;
-
-        java.util.Map<String, Object> stats = new java.util.HashMap<>();
-        stats.put("totalBookings", totalBookings);
-        stats.put("totalSpent", totalSpent);
-        return ResponseEntity.ok(stats);
+        return ResponseEntity.ok(bookingService.getUserStats(user.getId()));
     }
 
     @GetMapping("/my-bookings/date-range")
-    public ResponseEntity<List<Booking>> getMyBookingsByDateRange(
+    public ResponseEntity<List<BookingViewDTO>> getMyBookingsByDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
 
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String currentUserEmail = authentication.getName();
 
-        User user = userService.findByEmail(currentUserEmail)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        List<Booking> bookings = bookingService.findUserBookingsBetweenDates(user.getId(), startDate, endDate);
+        List<BookingViewDTO> bookings = bookingService.findViewsByUserEmailBetweenDates(currentUserEmail, startDate, endDate);
         return ResponseEntity.ok(bookings);
     }
 
@@ -236,10 +274,62 @@ public class BookingController {
         }
     }
 
+    @GetMapping("/turf/{turfId}/paginated/cursor")
+    @PreAuthorize("hasRole('OWNER') or hasRole('ADMIN')")
+    public ResponseEntity<?> getBookingsByTurfAfterCursor(
+            @PathVariable Long turfId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        try {
+            return ResponseEntity.ok(bookingDetailsService.getBookingDetailsByTurfAfter(turfId, cursor, size, includeTotal));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error fetching paginated bookings: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/turf/{turfId}/export")
+    @PreAuthorize("hasRole('OWNER') or hasRole('ADMIN')")
+    public ResponseEntity<?> exportBookingsByTurf(
+            @PathVariable Long turfId,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            User currentUser = userService.findByEmail(authentication.getName())
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+
+            Optional<Turf> turf = turfService.findById(turfId);
+            if (turf.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            if (!currentUser.getRole().equals(User.Role.ADMIN) &&
+                    !turf.get().getOwner().getId().equals(currentUser.getId())) {
+                return ResponseEntity.status(403).body("You don't have permission to export this turf's bookings");
+            }
+
+            BookingExportService.Format exportFormat = BookingExportService.Format.valueOf(format.toUpperCase());
+            if (from != null && to != null && from.isAfter(to)) {
+                throw new RuntimeException("'from' must not be after 'to'");
+            }
+
+            // Rows are written from the cursor as they are read; nothing is collected first
+            StreamingResponseBody body = out -> bookingExportService.export(turfId, from, to, exportFormat, out);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                    .header(HttpHeaders.CONTENT_DISPOSITION,
+                            "attachment; filename=\"turf-" + turfId + "-bookings." + exportFormat.getExtension() + "\"")
+                    .body(body);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Failed to export bookings: " + e.getMessage());
+        }
+    }
+
     @GetMapping("/status/{status}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<Booking>> getBookingsByStatus(@PathVariable Booking.BookingStatus status) {
-        List<Booking> bookings = bookingService.findBookingsByStatus(status);
+    public ResponseEntity<List<BookingViewDTO>> getBookingsByStatus(@PathVariable Booking.BookingStatus status) {
+        List<BookingViewDTO> bookings = bookingService.findViewsByStatus(status);
         return ResponseEntity.ok(bookings);
     }
 
@@ -299,16 +389,55 @@ public class BookingController {
         return ResponseEntity.ok(bookingService.getBookedStartTimes(turfId, date));
     }
 
+    // Live slot changes for one turf-day; browsers resume from Last-Event-ID after a reconnect
+    @GetMapping(value = "/availability/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAvailability(
+            @RequestParam Long turfId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return availabilityBroadcaster.subscribe(turfId, date, lastEventId,
+                () -> bookingService.getBookedStartTimes(turfId, date));
+    }
+
+    // Delta sync for clients that cannot hold a stream open; 304 when nothing changed since sinceVersion
+    @GetMapping("/availability/changes")
+    public ResponseEntity<?> getAvailabilityChanges(
+            @RequestParam Long turfId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(defaultValue = "0") long sinceVersion) {
+        return bookingService.getAvailabilityChanges(turfId, date, sinceVersion)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_MODIFIED).build());
+    }
+
+    @GetMapping("/availability/range")
+    public ResponseEntity<?> getAvailabilityCalendar(
+            @RequestParam Long turfId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            return ResponseEntity.ok(bookingService.getAvailabilityCalendar(turfId, from, to));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Failed to fetch availability: " + e.getMessage());
+        }
+    }
+
     @PostMapping("/multi")
-    public ResponseEntity<?> createMultiple(@Valid @RequestBody MultiBookingDTO body) {
+    public ResponseEntity<?> createMultiple(@Valid @RequestBody MultiBookingDTO body,
+                                            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String currentUserEmail = authentication.getName();
+        return idempotencyService.execute("POST /bookings/multi:" + currentUserEmail, idempotencyKey,
+                idempotencyService.fingerprint(body), () -> doCreateMultiple(currentUserEmail, body));
+    }
+
+    private ResponseEntity<?> doCreateMultiple(String currentUserEmail, MultiBookingDTO body) {
         try {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            String currentUserEmail = authentication.getName();
             User user = userService.findByEmail(currentUserEmail)
                     .orElseThrow(() -> new RuntimeException("User not found"));
 
             List<LocalTime> starts = body.getSlots().stream().map(s -> s.getStartTime()).toList();
-            return ResponseEntity.ok(
+            List<Booking> created = bookingCommandExecutor.execute(body.getTurfId(), () ->
                     bookingService.createMultipleBookings(
                         user.getId(), 
                         body.getTurfId(), 
@@ -320,11 +449,63 @@ public class BookingController {
                         body.getEmail()
                     )
             );
+            return ResponseEntity.ok(created.stream().map(BookingViewDTO::from).toList());
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Failed to create bookings: " + e.getMessage());
         }
     }
 
+    // Slot holds: reserve slots for a few minutes between selection and payment
+    @PostMapping("/holds")
+    public ResponseEntity<?> holdSlots(@Valid @RequestBody SlotHoldDTO body) {
+        try {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            String currentUserEmail = authentication.getName();
+            User user = userService.findByEmail(currentUserEmail)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+
+            return ResponseEntity.ok(bookingCommandExecutor.execute(body.getTurfId(), () -> bookingService.holdSlots(
+                    user.getId(), body.getTurfId(), body.getBookingDate(), body.getSlotStarts())));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Failed to hold slots: " + e.getMessage());
+        }
+    }
+
+    @PostMapping("/holds/{holdId}/confirm")
+    public ResponseEntity<?> confirmHold(@PathVariable String holdId, @RequestBody HoldConfirmationRequest body) {
+        try {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            String currentUserEmail = authentication.getName();
+            User user = userService.findByEmail(currentUserEmail)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+
+            SlotHoldService.SlotHold hold = bookingService.findHold(holdId, user.getId())
+                    .orElseThrow(() -> new RuntimeException("Hold not found or expired"));
+            // Runs in the hold's turf mailbox like the other booking writes
+            List<Booking> created = bookingCommandExecutor.execute(hold.getTurfId(), () -> bookingService.confirmHold(
+                    holdId, user.getId(), body.getPaymentMethod(), body.getFullName(), body.getPhoneNumber(),
+                    body.getEmail()));
+            return ResponseEntity.ok(created.stream().map(BookingViewDTO::from).toList());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Failed to confirm hold: " + e.getMessage());
+        }
+    }
+
+    @DeleteMapping("/holds/{holdId}")
+    public ResponseEntity<?> releaseHold(@PathVariable String holdId) {
+        try {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            String currentUserEmail = authentication.getName();
+            User user = userService.findByEmail(currentUserEmail)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+
+            bookingService.releaseHold(holdId, user.getId());
+            return ResponseEntity.ok("Hold released");
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Failed to release hold: " + e.getMessage());
+        }
+    }
+
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> deleteBooking(@PathVariable Long id) {
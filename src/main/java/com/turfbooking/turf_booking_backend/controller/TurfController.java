@@ -11,18 +11,22 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.List;
 import java.util.Optional;
 import java.math.BigDecimal;
 
-import com.turfbooking.turf_booking_backend.entity.Booking;
 import com.turfbooking.turf_booking_backend.service.BookingService;
+import com.turfbooking.turf_booking_backend.service.OccupancyHeatmapService;
+import com.turfbooking.turf_booking_backend.service.OwnerDashboardService;
 
 @RestController
 @RequestMapping("/turfs")
@@ -39,6 +43,12 @@ public class TurfController {
     @Autowired
     private BookingService bookingService;
 
+    @Autowired
+    private OwnerDashboardService ownerDashboardService;
+
+    @Autowired
+    private OccupancyHeatmapService occupancyHeatmapService;
+
     @GetMapping("/public")
     public ResponseEntity<List<Turf>> getAllActiveTurfs() {
         List<Turf> turfs = turfService.findAllActiveTurfs();
@@ -57,7 +67,7 @@ public class TurfController {
 
     @GetMapping("/public/{id}")
     public ResponseEntity<Turf> getTurfById(@PathVariable Long id) {
-        Optional<Turf> turf = turfService.findById(id);
+        Optional<Turf> turf = turfService.findPublicTurfById(id);
         return turf.map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -68,6 +78,20 @@ public class TurfController {
         return ResponseEntity.ok(turfs);
     }
 
+    // Turfs near a location that are free for the whole requested slot, in one request
+    @GetMapping("/public/available")
+    public ResponseEntity<?> findAvailableTurfs(
+            @RequestParam(required = false) String location,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime end) {
+        try {
+            return ResponseEntity.ok(bookingService.findAvailableTurfs(location, date, start, end));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Failed to search available turfs: " + e.getMessage());
+        }
+    }
+
     @GetMapping("/public/filter")
     public ResponseEntity<Page<Turf>> filterTurfs(
             @RequestParam(required = false) String location,
@@ -161,18 +185,31 @@ public class TurfController {
         User owner = userService.findByEmail(currentUserEmail)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        List<Booking> bookings = bookingService.findBookingsByOwner(owner.getId());
-        final int totalBookings = bookings != null ? bookings.size() : 0;
-        final BigDecimal totalRevenue = (bookings != null)
-                ? bookings.stream()
-                    .map(b -> b.getTotalAmount() == null ? BigDecimal.ZERO : b.getTotalAmount())
-                    .reduce(BigDecimal.ZERO, BigDecimal::add)
-                : BigDecimal.ZERO;
-
-        java.util.Map<String, Object> stats = new java.util.HashMap<>();
-        stats.put("totalBookings", totalBookings);
-        stats.put("totalRevenue", totalRevenue);
-        return ResponseEntity.ok(stats);
+        return ResponseEntity.ok(ownerDashboardService.getDashboard(owner.getId()));
+    }
+
+    // Booked hours per weekday and hour, for the turf's owner or an admin
+    @GetMapping("/{id}/occupancy-heatmap")
+    @PreAuthorize("hasRole('OWNER') or hasRole('ADMIN')")
+    public ResponseEntity<?> getOccupancyHeatmap(@PathVariable Long id) {
+        try {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            User currentUser = userService.findByEmail(authentication.getName())
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+
+            Optional<Turf> turf = turfService.findById(id);
+            if (turf.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            if (!currentUser.getRole().equals(User.Role.ADMIN) &&
+                    !turf.get().getOwner().getId().equals(currentUser.getId())) {
+                return ResponseEntity.status(403).body("You don't have permission to view this turf's occupancy");
+            }
+
+            return ResponseEntity.ok(occupancyHeatmapService.getHeatmap(id));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Failed to fetch occupancy heatmap: " + e.getMessage());
+        }
     }
 
     @PutMapping("/{id}")
@@ -272,6 +309,12 @@ public class TurfController {
         }
     }
 
+    @GetMapping("/admin/catalog-cache/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getCatalogCacheStats() {
+        return ResponseEntity.ok(turfService.getCatalogCacheStats());
+    }
+
     @PutMapping("/{id}/approve")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> approveTurf(@PathVariable Long id) {
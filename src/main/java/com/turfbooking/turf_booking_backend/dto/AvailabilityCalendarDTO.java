@@ -0,0 +1,35 @@
+package com.turfbooking.turf_booking_backend.dto;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+public class AvailabilityCalendarDTO {
+
+    private Long turfId;
+    private LocalDate from;
+    private LocalDate to;
+
+    // One entry per day in the range; bit h (0-23) is set when any part of hour h is booked
+    private Map<LocalDate, Integer> bookedHours;
+
+    public AvailabilityCalendarDTO() {}
+
+    public AvailabilityCalendarDTO(Long turfId, LocalDate from, LocalDate to, Map<LocalDate, Integer> bookedHours) {
+        this.turfId = turfId;
+        this.from = from;
+        this.to = to;
+        this.bookedHours = bookedHours;
+    }
+
+    public Long getTurfId() { return turfId; }
+    public void setTurfId(Long turfId) { this.turfId = turfId; }
+
+    public LocalDate getFrom() { return from; }
+    public void setFrom(LocalDate from) { this.from = from; }
+
+    public LocalDate getTo() { return to; }
+    public void setTo(LocalDate to) { this.to = to; }
+
+    public Map<LocalDate, Integer> getBookedHours() { return bookedHours; }
+    public void setBookedHours(Map<LocalDate, Integer> bookedHours) { this.bookedHours = bookedHours; }
+}
@@ -0,0 +1,48 @@
+package com.turfbooking.turf_booking_backend.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+public class AvailabilityChangesDTO {
+
+    private Long turfId;
+    private LocalDate date;
+    private long version;
+
+    // True when sinceVersion is no longer covered; bookedStartTimes then holds the full state to start over from
+    private boolean reset;
+
+    private List<SlotChangeDTO> changes;
+    private List<LocalTime> bookedStartTimes;
+
+    public AvailabilityChangesDTO() {}
+
+    public AvailabilityChangesDTO(Long turfId, LocalDate date, long version, boolean reset,
+                                  List<SlotChangeDTO> changes, List<LocalTime> bookedStartTimes) {
+        this.turfId = turfId;
+        this.date = date;
+        this.version = version;
+        this.reset = reset;
+        this.changes = changes;
+        this.bookedStartTimes = bookedStartTimes;
+    }
+
+    public Long getTurfId() { return turfId; }
+    public void setTurfId(Long turfId) { this.turfId = turfId; }
+
+    public LocalDate getDate() { return date; }
+    public void setDate(LocalDate date) { this.date = date; }
+
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+
+    public boolean isReset() { return reset; }
+    public void setReset(boolean reset) { this.reset = reset; }
+
+    public List<SlotChangeDTO> getChanges() { return changes; }
+    public void setChanges(List<SlotChangeDTO> changes) { this.changes = changes; }
+
+    public List<LocalTime> getBookedStartTimes() { return bookedStartTimes; }
+    public void setBookedStartTimes(List<LocalTime> bookedStartTimes) { this.bookedStartTimes = bookedStartTimes; }
+}
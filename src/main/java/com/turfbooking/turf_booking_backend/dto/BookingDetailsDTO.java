@@ -5,143 +5,34 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalTime;
 
-public class BookingDetailsDTO {
-    private Long id;
-    private String turfName;
-    private LocalDate bookingDate;
-    private LocalTime startTime;
-    private LocalTime endTime;
-    private String userName;
-    private String userPhone;
-    private String userEmail;
-    private String paymentMethod;
-    private BigDecimal totalAmount;
-    private String status;
-
-    public BookingDetailsDTO() {
-    }
-
-    public BookingDetailsDTO(Booking booking) {
-        this.id = booking.getId();
-        this.bookingDate = booking.getBookingDate();
-        this.startTime = booking.getStartTime();
-        this.endTime = booking.getEndTime();
-        this.totalAmount = booking.getTotalAmount();
-        this.status = booking.getStatus().toString();
-        
-        if (booking.getTurf() != null) {
-            this.turfName = booking.getTurf().getName();
-        }
-        
-        // Prefer the booking's contact info fields if available, otherwise fall back to user data
-        this.userName = booking.getFullName();
-        this.userPhone = booking.getPhoneNumber();
-        this.userEmail = booking.getEmail();
-        
-        // If any fields are null, try to get them from the user entity as fallback
-        if ((this.userName == null || this.userName.isEmpty()) && booking.getUser() != null) {
-            this.userName = booking.getUser().getFirstName() + " " + booking.getUser().getLastName();
-        }
-        
-        if ((this.userPhone == null || this.userPhone.isEmpty()) && booking.getUser() != null) {
-            this.userPhone = booking.getUser().getPhone();
-        }
-        
-        if ((this.userEmail == null || this.userEmail.isEmpty()) && booking.getUser() != null) {
-            this.userEmail = booking.getUser().getEmail();
-        }
-        
-        if (booking.getPayment() != null) {
-            this.paymentMethod = booking.getPayment().getPaymentMethod();
-        }
-    }
-
-    // Getters and Setters
-    public Long getId() {
-        return id;
-    }
-
-    public void setId(Long id) {
-        this.id = id;
-    }
-
-    public String getTurfName() {
-        return turfName;
-    }
-
-    public void setTurfName(String turfName) {
-        this.turfName = turfName;
-    }
-
-    public LocalDate getBookingDate() {
-        return bookingDate;
-    }
-
-    public void setBookingDate(LocalDate bookingDate) {
-        this.bookingDate = bookingDate;
-    }
-
-    public LocalTime getStartTime() {
-        return startTime;
-    }
-
-    public void setStartTime(LocalTime startTime) {
-        this.startTime = startTime;
-    }
-
-    public LocalTime getEndTime() {
-        return endTime;
-    }
-
-    public void setEndTime(LocalTime endTime) {
-        this.endTime = endTime;
-    }
-
-    public String getUserName() {
-        return userName;
-    }
-
-    public void setUserName(String userName) {
-        this.userName = userName;
-    }
-
-    public String getUserPhone() {
-        return userPhone;
-    }
-
-    public void setUserPhone(String userPhone) {
-        this.userPhone = userPhone;
-    }
-
-    public String getUserEmail() {
-        return userEmail;
-    }
-
-    public void setUserEmail(String userEmail) {
-        this.userEmail = userEmail;
-    }
-
-    public String getPaymentMethod() {
-        return paymentMethod;
-    }
-
-    public void setPaymentMethod(String paymentMethod) {
-        this.paymentMethod = paymentMethod;
-    }
-
-    public BigDecimal getTotalAmount() {
-        return totalAmount;
-    }
-
-    public void setTotalAmount(BigDecimal totalAmount) {
-        this.totalAmount = totalAmount;
-    }
-
-    public String getStatus() {
-        return status;
-    }
-
-    public void setStatus(String status) {
-        this.status = status;
-    }
-}
\ No newline at end of file
+// Read-only row of the owner booking list, built straight from a JPQL constructor projection
+public record BookingDetailsDTO(
+        Long id,
+        String turfName,
+        LocalDate bookingDate,
+        LocalTime startTime,
+        LocalTime endTime,
+        String userName,
+        String userPhone,
+        String userEmail,
+        String paymentMethod,
+        BigDecimal totalAmount,
+        String status) {
+
+    // Projection constructor: prefer the booking's contact info fields if available, otherwise fall back to user data
+    public BookingDetailsDTO(Long id, String turfName, LocalDate bookingDate, LocalTime startTime, LocalTime endTime,
+                             String fullName, String phoneNumber, String email,
+                             String userFirstName, String userLastName, String userPhone, String userEmail,
+                             String paymentMethod, BigDecimal totalAmount, Booking.BookingStatus status) {
+        this(id, turfName, bookingDate, startTime, endTime,
+                isBlank(fullName) && (userFirstName != null || userLastName != null)
+                        ? userFirstName + " " + userLastName : fullName,
+                isBlank(phoneNumber) && userPhone != null ? userPhone : phoneNumber,
+                isBlank(email) && userEmail != null ? userEmail : email,
+                paymentMethod, totalAmount, status != null ? status.toString() : null);
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isEmpty();
+    }
+}
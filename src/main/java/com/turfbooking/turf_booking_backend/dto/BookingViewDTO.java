@@ -0,0 +1,61 @@
+package com.turfbooking.turf_booking_backend.dto;
+
+import com.turfbooking.turf_booking_backend.entity.Booking;
+import com.turfbooking.turf_booking_backend.entity.Turf;
+import com.turfbooking.turf_booking_backend.entity.User;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+// What the booking endpoints return instead of the Booking entity: the booking's own fields
+// plus the few turf and user fields clients display. Turf images can be large data URLs and
+// stay on the turf endpoints
+public record BookingViewDTO(
+        Long id,
+        LocalDate bookingDate,
+        LocalTime startTime,
+        LocalTime endTime,
+        BigDecimal totalAmount,
+        Booking.BookingStatus status,
+        Booking.BookingType bookingType,
+        String paymentMode,
+        String fullName,
+        String phoneNumber,
+        String email,
+        LocalDateTime createdAt,
+        TurfSummary turf,
+        UserSummary user) {
+
+    public record TurfSummary(Long id, String name, String location, BigDecimal pricePerHour) {}
+
+    public record UserSummary(Long id, String firstName, String lastName, String email) {}
+
+    // Constructor projection for JPQL queries joining the booking's turf and user
+    public BookingViewDTO(Long id, LocalDate bookingDate, LocalTime startTime, LocalTime endTime,
+                          BigDecimal totalAmount, Booking.BookingStatus status, Booking.BookingType bookingType,
+                          String paymentMode, String fullName, String phoneNumber, String email,
+                          LocalDateTime createdAt,
+                          Long turfId, String turfName, String turfLocation, BigDecimal turfPricePerHour,
+                          Long userId, String userFirstName, String userLastName, String userEmail) {
+        this(id, bookingDate, startTime, endTime, totalAmount, status, bookingType, paymentMode, fullName,
+                phoneNumber, email, createdAt,
+                new TurfSummary(turfId, turfName, turfLocation, turfPricePerHour),
+                new UserSummary(userId, userFirstName, userLastName, userEmail));
+    }
+
+    // For bookings just written, whose turf and user were loaded by the same service call
+    public static BookingViewDTO from(Booking booking) {
+        Turf turf = booking.getTurf();
+        User user = booking.getUser();
+        return new BookingViewDTO(booking.getId(), booking.getBookingDate(), booking.getStartTime(),
+                booking.getEndTime(), booking.getTotalAmount(), booking.getStatus(), booking.getBookingType(),
+                booking.getPaymentMode(), booking.getFullName(), booking.getPhoneNumber(), booking.getEmail(),
+                booking.getCreatedAt(),
+                turf != null ? new TurfSummary(turf.getId(), turf.getName(), turf.getLocation(),
+                        turf.getPricePerHour()) : null,
+                user != null ? new UserSummary(user.getId(), user.getFirstName(), user.getLastName(),
+                        user.getEmail()) : null);
+    }
+}
@@ -0,0 +1,34 @@
+package com.turfbooking.turf_booking_backend.dto;
+
+import java.util.List;
+
+public class CursorPageDTO<T> {
+
+    private List<T> content;
+    // Pass back as ?cursor= to fetch the following page; null on the last page
+    private String nextCursor;
+    private boolean hasNext;
+    // Only filled in when the caller asked for it
+    private Long totalElements;
+
+    public CursorPageDTO() {}
+
+    public CursorPageDTO(List<T> content, String nextCursor, Long totalElements) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.hasNext = nextCursor != null;
+        this.totalElements = totalElements;
+    }
+
+    public List<T> getContent() { return content; }
+    public void setContent(List<T> content) { this.content = content; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+
+    public boolean isHasNext() { return hasNext; }
+    public void setHasNext(boolean hasNext) { this.hasNext = hasNext; }
+
+    public Long getTotalElements() { return totalElements; }
+    public void setTotalElements(Long totalElements) { this.totalElements = totalElements; }
+}
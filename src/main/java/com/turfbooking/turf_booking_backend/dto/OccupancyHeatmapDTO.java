@@ -0,0 +1,28 @@
+package com.turfbooking.turf_booking_backend.dto;
+
+public class OccupancyHeatmapDTO {
+
+    private Long turfId;
+
+    // bookedHours[day][hour]: day 0 is Monday, hour 0 is 00:00-01:00
+    private long[][] bookedHours;
+
+    private long maxBookedHours;
+
+    public OccupancyHeatmapDTO() {}
+
+    public OccupancyHeatmapDTO(Long turfId, long[][] bookedHours, long maxBookedHours) {
+        this.turfId = turfId;
+        this.bookedHours = bookedHours;
+        this.maxBookedHours = maxBookedHours;
+    }
+
+    public Long getTurfId() { return turfId; }
+    public void setTurfId(Long turfId) { this.turfId = turfId; }
+
+    public long[][] getBookedHours() { return bookedHours; }
+    public void setBookedHours(long[][] bookedHours) { this.bookedHours = bookedHours; }
+
+    public long getMaxBookedHours() { return maxBookedHours; }
+    public void setMaxBookedHours(long maxBookedHours) { this.maxBookedHours = maxBookedHours; }
+}
@@ -0,0 +1,51 @@
+package com.turfbooking.turf_booking_backend.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public class OwnerDashboardDTO {
+
+    private long totalBookings;
+    private BigDecimal totalRevenue;
+    private long confirmedBookings;
+    private long cancelledBookings;
+    private List<TurfStats> turfs;
+    private List<MonthStats> months;
+
+    public OwnerDashboardDTO() {}
+
+    public OwnerDashboardDTO(long totalBookings, BigDecimal totalRevenue, long confirmedBookings,
+                             long cancelledBookings, List<TurfStats> turfs, List<MonthStats> months) {
+        this.totalBookings = totalBookings;
+        this.totalRevenue = totalRevenue;
+        this.confirmedBookings = confirmedBookings;
+        this.cancelledBookings = cancelledBookings;
+        this.turfs = turfs;
+        this.months = months;
+    }
+
+    public long getTotalBookings() { return totalBookings; }
+    public void setTotalBookings(long totalBookings) { this.totalBookings = totalBookings; }
+
+    public BigDecimal getTotalRevenue() { return totalRevenue; }
+    public void setTotalRevenue(BigDecimal totalRevenue) { this.totalRevenue = totalRevenue; }
+
+    public long getConfirmedBookings() { return confirmedBookings; }
+    public void setConfirmedBookings(long confirmedBookings) { this.confirmedBookings = confirmedBookings; }
+
+    public long getCancelledBookings() { return cancelledBookings; }
+    public void setCancelledBookings(long cancelledBookings) { this.cancelledBookings = cancelledBookings; }
+
+    public List<TurfStats> getTurfs() { return turfs; }
+    public void setTurfs(List<TurfStats> turfs) { this.turfs = turfs; }
+
+    public List<MonthStats> getMonths() { return months; }
+    public void setMonths(List<MonthStats> months) { this.months = months; }
+
+    public record TurfStats(Long turfId, String turfName, long bookings, BigDecimal revenue,
+                            long confirmedBookings, long cancelledBookings) {}
+
+    // month is formatted as yyyy-MM
+    public record MonthStats(String month, long bookings, BigDecimal revenue,
+                             long confirmedBookings, long cancelledBookings) {}
+}
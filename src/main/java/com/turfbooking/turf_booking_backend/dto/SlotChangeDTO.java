@@ -0,0 +1,23 @@
+package com.turfbooking.turf_booking_backend.dto;
+
+import java.time.LocalTime;
+
+// State of one hourly slot after a change; versions increase monotonically per turf-day
+public class SlotChangeDTO {
+
+    private final long version;
+    private final LocalTime startTime;
+    private final boolean taken;
+
+    public SlotChangeDTO(long version, LocalTime startTime, boolean taken) {
+        this.version = version;
+        this.startTime = startTime;
+        this.taken = taken;
+    }
+
+    public long getVersion() { return version; }
+
+    public LocalTime getStartTime() { return startTime; }
+
+    public boolean isTaken() { return taken; }
+}
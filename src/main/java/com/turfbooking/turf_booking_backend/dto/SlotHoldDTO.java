@@ -0,0 +1,31 @@
+package com.turfbooking.turf_booking_backend.dto;
+
+import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+public class SlotHoldDTO {
+
+    @NotNull
+    private Long turfId;
+
+    @NotNull
+    @FutureOrPresent
+    private LocalDate bookingDate;
+
+    @NotEmpty
+    private List<LocalTime> slotStarts; // 1-hour slots
+
+    public Long getTurfId() { return turfId; }
+    public void setTurfId(Long turfId) { this.turfId = turfId; }
+
+    public LocalDate getBookingDate() { return bookingDate; }
+    public void setBookingDate(LocalDate bookingDate) { this.bookingDate = bookingDate; }
+
+    public List<LocalTime> getSlotStarts() { return slotStarts; }
+    public void setSlotStarts(List<LocalTime> slotStarts) { this.slotStarts = slotStarts; }
+}
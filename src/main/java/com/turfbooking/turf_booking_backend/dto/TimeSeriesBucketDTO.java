@@ -0,0 +1,40 @@
+package com.turfbooking.turf_booking_backend.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class TimeSeriesBucketDTO {
+
+    // First day of the day, ISO week (Monday) or month the bucket covers
+    private LocalDate periodStart;
+    private long bookings;
+    private BigDecimal revenue;
+    private long confirmedBookings;
+    private long cancelledBookings;
+
+    public TimeSeriesBucketDTO() {}
+
+    public TimeSeriesBucketDTO(LocalDate periodStart, long bookings, BigDecimal revenue,
+                               long confirmedBookings, long cancelledBookings) {
+        this.periodStart = periodStart;
+        this.bookings = bookings;
+        this.revenue = revenue;
+        this.confirmedBookings = confirmedBookings;
+        this.cancelledBookings = cancelledBookings;
+    }
+
+    public LocalDate getPeriodStart() { return periodStart; }
+    public void setPeriodStart(LocalDate periodStart) { this.periodStart = periodStart; }
+
+    public long getBookings() { return bookings; }
+    public void setBookings(long bookings) { this.bookings = bookings; }
+
+    public BigDecimal getRevenue() { return revenue; }
+    public void setRevenue(BigDecimal revenue) { this.revenue = revenue; }
+
+    public long getConfirmedBookings() { return confirmedBookings; }
+    public void setConfirmedBookings(long confirmedBookings) { this.confirmedBookings = confirmedBookings; }
+
+    public long getCancelledBookings() { return cancelledBookings; }
+    public void setCancelledBookings(long cancelledBookings) { this.cancelledBookings = cancelledBookings; }
+}
@@ -0,0 +1,148 @@
+package com.turfbooking.turf_booking_backend.entity;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+@Entity
+@Table(name = "booking_daily_rollup")
+@IdClass(BookingDailyRollup.Key.class)
+public class BookingDailyRollup {
+
+    @Id
+    @Column(name = "turf_id")
+    private Long turfId;
+
+    @Id
+    @Column(name = "booking_date")
+    private LocalDate bookingDate;
+
+    @Column(name = "booking_count", nullable = false)
+    private long bookingCount;
+
+    @Column(name = "total_amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+
+    @Column(name = "pending_count", nullable = false)
+    private long pendingCount;
+
+    @Column(name = "pending_amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal pendingAmount = BigDecimal.ZERO;
+
+    @Column(name = "confirmed_count", nullable = false)
+    private long confirmedCount;
+
+    @Column(name = "confirmed_amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal confirmedAmount = BigDecimal.ZERO;
+
+    @Column(name = "cancelled_count", nullable = false)
+    private long cancelledCount;
+
+    @Column(name = "cancelled_amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal cancelledAmount = BigDecimal.ZERO;
+
+    @Column(name = "completed_count", nullable = false)
+    private long completedCount;
+
+    @Column(name = "completed_amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal completedAmount = BigDecimal.ZERO;
+
+    @Column(name = "online_count", nullable = false)
+    private long onlineCount;
+
+    @Column(name = "online_amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal onlineAmount = BigDecimal.ZERO;
+
+    @Column(name = "offline_count", nullable = false)
+    private long offlineCount;
+
+    @Column(name = "offline_amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal offlineAmount = BigDecimal.ZERO;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onWrite() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    public BookingDailyRollup() {}
+
+    public BookingDailyRollup(Long turfId, LocalDate bookingDate) {
+        this.turfId = turfId;
+        this.bookingDate = bookingDate;
+    }
+
+    // Adds (sign = 1) or removes (sign = -1) one booking's contribution
+    public void add(Booking.BookingStatus status, Booking.BookingType type, BigDecimal amount, int sign) {
+        BigDecimal delta = amount == null ? BigDecimal.ZERO : amount;
+        if (sign < 0) {
+            delta = delta.negate();
+        }
+        bookingCount += sign;
+        totalAmount = totalAmount.add(delta);
+        if (status != null) {
+            switch (status) {
+                case PENDING -> { pendingCount += sign; pendingAmount = pendingAmount.add(delta); }
+                case CONFIRMED -> { confirmedCount += sign; confirmedAmount = confirmedAmount.add(delta); }
+                case CANCELLED -> { cancelledCount += sign; cancelledAmount = cancelledAmount.add(delta); }
+                case COMPLETED -> { completedCount += sign; completedAmount = completedAmount.add(delta); }
+            }
+        }
+        if (type == Booking.BookingType.OFFLINE) {
+            offlineCount += sign;
+            offlineAmount = offlineAmount.add(delta);
+        } else {
+            onlineCount += sign;
+            onlineAmount = onlineAmount.add(delta);
+        }
+    }
+
+    public Long getTurfId() { return turfId; }
+    public LocalDate getBookingDate() { return bookingDate; }
+    public long getBookingCount() { return bookingCount; }
+    public BigDecimal getTotalAmount() { return totalAmount; }
+    public long getPendingCount() { return pendingCount; }
+    public BigDecimal getPendingAmount() { return pendingAmount; }
+    public long getConfirmedCount() { return confirmedCount; }
+    public BigDecimal getConfirmedAmount() { return confirmedAmount; }
+    public long getCancelledCount() { return cancelledCount; }
+    public BigDecimal getCancelledAmount() { return cancelledAmount; }
+    public long getCompletedCount() { return completedCount; }
+    public BigDecimal getCompletedAmount() { return completedAmount; }
+    public long getOnlineCount() { return onlineCount; }
+    public BigDecimal getOnlineAmount() { return onlineAmount; }
+    public long getOfflineCount() { return offlineCount; }
+    public BigDecimal getOfflineAmount() { return offlineAmount; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+
+    public static class Key implements Serializable {
+
+        private Long turfId;
+        private LocalDate bookingDate;
+
+        public Key() {}
+
+        public Key(Long turfId, LocalDate bookingDate) {
+            this.turfId = turfId;
+            this.bookingDate = bookingDate;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return Objects.equals(turfId, key.turfId) && Objects.equals(bookingDate, key.bookingDate);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(turfId, bookingDate);
+        }
+    }
+}
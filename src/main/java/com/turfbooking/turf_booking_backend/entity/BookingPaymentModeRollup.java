@@ -0,0 +1,99 @@
+package com.turfbooking.turf_booking_backend.entity;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+@Entity
+@Table(name = "booking_payment_mode_rollup")
+@IdClass(BookingPaymentModeRollup.Key.class)
+public class BookingPaymentModeRollup {
+
+    public static final String UNKNOWN = "UNKNOWN";
+
+    @Id
+    @Column(name = "turf_id")
+    private Long turfId;
+
+    @Id
+    @Column(name = "booking_date")
+    private LocalDate bookingDate;
+
+    @Id
+    @Column(name = "payment_mode")
+    private String paymentMode;
+
+    @Column(name = "booking_count", nullable = false)
+    private long bookingCount;
+
+    @Column(name = "total_amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onWrite() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    public BookingPaymentModeRollup() {}
+
+    public BookingPaymentModeRollup(Long turfId, LocalDate bookingDate, String paymentMode) {
+        this.turfId = turfId;
+        this.bookingDate = bookingDate;
+        this.paymentMode = paymentMode;
+    }
+
+    // The key a booking's payment mode is counted under
+    public static String modeOf(Booking booking) {
+        String mode = booking.getPaymentMode();
+        return mode == null || mode.isBlank() ? UNKNOWN : mode.trim();
+    }
+
+    // Adds (sign = 1) or removes (sign = -1) one booking's contribution
+    public void add(BigDecimal amount, int sign) {
+        BigDecimal delta = amount == null ? BigDecimal.ZERO : amount;
+        bookingCount += sign;
+        totalAmount = sign < 0 ? totalAmount.subtract(delta) : totalAmount.add(delta);
+    }
+
+    public Long getTurfId() { return turfId; }
+    public LocalDate getBookingDate() { return bookingDate; }
+    public String getPaymentMode() { return paymentMode; }
+    public long getBookingCount() { return bookingCount; }
+    public BigDecimal getTotalAmount() { return totalAmount; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+
+    public static class Key implements Serializable {
+
+        private Long turfId;
+        private LocalDate bookingDate;
+        private String paymentMode;
+
+        public Key() {}
+
+        public Key(Long turfId, LocalDate bookingDate, String paymentMode) {
+            this.turfId = turfId;
+            this.bookingDate = bookingDate;
+            this.paymentMode = paymentMode;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return Objects.equals(turfId, key.turfId) && Objects.equals(bookingDate, key.bookingDate)
+                    && Objects.equals(paymentMode, key.paymentMode);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(turfId, bookingDate, paymentMode);
+        }
+    }
+}
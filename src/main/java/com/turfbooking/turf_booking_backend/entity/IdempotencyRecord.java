@@ -0,0 +1,54 @@
+package com.turfbooking.turf_booking_backend.entity;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+@Entity
+@Table(name = "idempotency_records")
+public class IdempotencyRecord {
+
+    @Id
+    @Column(name = "record_key", length = 512)
+    private String recordKey;
+
+    @Column(name = "fingerprint", length = 64)
+    private String fingerprint;
+
+    @Column(name = "status_code")
+    private int statusCode;
+
+    @Column(name = "response_body", columnDefinition = "TEXT")
+    private String responseBody;
+
+    @Column(name = "created_at")
+    private Instant createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = Instant.now();
+    }
+
+    public IdempotencyRecord() {}
+
+    public IdempotencyRecord(String recordKey, String fingerprint, int statusCode, String responseBody) {
+        this.recordKey = recordKey;
+        this.fingerprint = fingerprint;
+        this.statusCode = statusCode;
+        this.responseBody = responseBody;
+    }
+
+    public String getRecordKey() { return recordKey; }
+    public void setRecordKey(String recordKey) { this.recordKey = recordKey; }
+
+    public String getFingerprint() { return fingerprint; }
+    public void setFingerprint(String fingerprint) { this.fingerprint = fingerprint; }
+
+    public int getStatusCode() { return statusCode; }
+    public void setStatusCode(int statusCode) { this.statusCode = statusCode; }
+
+    public String getResponseBody() { return responseBody; }
+    public void setResponseBody(String responseBody) { this.responseBody = responseBody; }
+
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+}
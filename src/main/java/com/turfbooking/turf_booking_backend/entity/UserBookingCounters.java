@@ -0,0 +1,82 @@
+package com.turfbooking.turf_booking_backend.entity;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "user_booking_counters")
+public class UserBookingCounters {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "booking_count", nullable = false)
+    private long bookingCount;
+
+    @Column(name = "total_spent", nullable = false, precision = 14, scale = 2)
+    private BigDecimal totalSpent = BigDecimal.ZERO;
+
+    @Column(name = "pending_count", nullable = false)
+    private long pendingCount;
+
+    @Column(name = "confirmed_count", nullable = false)
+    private long confirmedCount;
+
+    @Column(name = "cancelled_count", nullable = false)
+    private long cancelledCount;
+
+    @Column(name = "completed_count", nullable = false)
+    private long completedCount;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onWrite() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    public UserBookingCounters() {}
+
+    public UserBookingCounters(Long userId) {
+        this.userId = userId;
+    }
+
+    // Adds (sign = 1) or removes (sign = -1) one booking
+    public void add(Booking.BookingStatus status, BigDecimal amount, int sign) {
+        bookingCount += sign;
+        if (amount != null) {
+            totalSpent = sign < 0 ? totalSpent.subtract(amount) : totalSpent.add(amount);
+        }
+        addStatus(status, sign);
+    }
+
+    public void changeStatus(Booking.BookingStatus from, Booking.BookingStatus to) {
+        addStatus(from, -1);
+        addStatus(to, 1);
+    }
+
+    private void addStatus(Booking.BookingStatus status, int sign) {
+        if (status == null) {
+            return;
+        }
+        switch (status) {
+            case PENDING -> pendingCount += sign;
+            case CONFIRMED -> confirmedCount += sign;
+            case CANCELLED -> cancelledCount += sign;
+            case COMPLETED -> completedCount += sign;
+        }
+    }
+
+    public Long getUserId() { return userId; }
+    public long getBookingCount() { return bookingCount; }
+    public BigDecimal getTotalSpent() { return totalSpent; }
+    public long getPendingCount() { return pendingCount; }
+    public long getConfirmedCount() { return confirmedCount; }
+    public long getCancelledCount() { return cancelledCount; }
+    public long getCompletedCount() { return completedCount; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+}
@@ -0,0 +1,109 @@
+package com.turfbooking.turf_booking_backend.repository;
+
+import com.turfbooking.turf_booking_backend.entity.BookingDailyRollup;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BookingDailyRollupRepository extends JpaRepository<BookingDailyRollup, BookingDailyRollup.Key> {
+
+    interface RollupTotals {
+        Long getBookingCount();
+        BigDecimal getTotalAmount();
+        Long getPendingCount();
+        BigDecimal getPendingAmount();
+        Long getConfirmedCount();
+        BigDecimal getConfirmedAmount();
+        Long getCancelledCount();
+        BigDecimal getCancelledAmount();
+        Long getCompletedCount();
+        BigDecimal getCompletedAmount();
+        Long getOnlineCount();
+        BigDecimal getOnlineAmount();
+        Long getOfflineCount();
+        BigDecimal getOfflineAmount();
+    }
+
+    String TOTALS_SELECT = "SELECT SUM(r.bookingCount) AS bookingCount, SUM(r.totalAmount) AS totalAmount, " +
+            "SUM(r.pendingCount) AS pendingCount, SUM(r.pendingAmount) AS pendingAmount, " +
+            "SUM(r.confirmedCount) AS confirmedCount, SUM(r.confirmedAmount) AS confirmedAmount, " +
+            "SUM(r.cancelledCount) AS cancelledCount, SUM(r.cancelledAmount) AS cancelledAmount, " +
+            "SUM(r.completedCount) AS completedCount, SUM(r.completedAmount) AS completedAmount, " +
+            "SUM(r.onlineCount) AS onlineCount, SUM(r.onlineAmount) AS onlineAmount, " +
+            "SUM(r.offlineCount) AS offlineCount, SUM(r.offlineAmount) AS offlineAmount " +
+            "FROM BookingDailyRollup r";
+
+    interface GroupTotals {
+        Long getBookingCount();
+        BigDecimal getTotalAmount();
+        Long getConfirmedCount();
+        Long getCancelledCount();
+    }
+
+    interface TurfTotals extends GroupTotals {
+        Long getTurfId();
+        String getTurfName();
+    }
+
+    interface DayTotals extends GroupTotals {
+        LocalDate getBookingDate();
+    }
+
+    interface MonthTotals extends GroupTotals {
+        Integer getYear();
+        Integer getMonth();
+    }
+
+    // Row lock so concurrent writers to the same turf-day apply their deltas one after another
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM BookingDailyRollup r WHERE r.turfId = :turfId AND r.bookingDate = :date")
+    Optional<BookingDailyRollup> findForUpdate(@Param("turfId") Long turfId, @Param("date") LocalDate date);
+
+    @Query(TOTALS_SELECT)
+    RollupTotals sumAll();
+
+    @Query("SELECT COALESCE(SUM(r.bookingCount), 0) FROM BookingDailyRollup r WHERE r.turfId = :turfId")
+    long countBookingsByTurf(@Param("turfId") Long turfId);
+
+    @Query(TOTALS_SELECT + " WHERE r.turfId IN (SELECT t.id FROM Turf t WHERE t.owner.id = :ownerId)")
+    RollupTotals sumByOwner(@Param("ownerId") Long ownerId);
+
+    // Every turf of the owner, including ones without bookings yet
+    @Query("SELECT t.id AS turfId, t.name AS turfName, SUM(r.bookingCount) AS bookingCount, " +
+            "SUM(r.totalAmount) AS totalAmount, SUM(r.confirmedCount) AS confirmedCount, " +
+            "SUM(r.cancelledCount) AS cancelledCount " +
+            "FROM Turf t LEFT JOIN BookingDailyRollup r ON r.turfId = t.id " +
+            "WHERE t.owner.id = :ownerId GROUP BY t.id, t.name ORDER BY t.id")
+    List<TurfTotals> sumByOwnerPerTurf(@Param("ownerId") Long ownerId);
+
+    @Query("SELECT YEAR(r.bookingDate) AS year, MONTH(r.bookingDate) AS month, SUM(r.bookingCount) AS bookingCount, " +
+            "SUM(r.totalAmount) AS totalAmount, SUM(r.confirmedCount) AS confirmedCount, " +
+            "SUM(r.cancelledCount) AS cancelledCount " +
+            "FROM BookingDailyRollup r WHERE r.turfId IN (SELECT t.id FROM Turf t WHERE t.owner.id = :ownerId) " +
+            "GROUP BY YEAR(r.bookingDate), MONTH(r.bookingDate) " +
+            "ORDER BY YEAR(r.bookingDate), MONTH(r.bookingDate)")
+    List<MonthTotals> sumByOwnerPerMonth(@Param("ownerId") Long ownerId);
+
+    String DAY_TOTALS_SELECT = "SELECT r.bookingDate AS bookingDate, SUM(r.bookingCount) AS bookingCount, " +
+            "SUM(r.totalAmount) AS totalAmount, SUM(r.confirmedCount) AS confirmedCount, " +
+            "SUM(r.cancelledCount) AS cancelledCount FROM BookingDailyRollup r " +
+            "WHERE r.bookingDate BETWEEN :fromDate AND :toDate";
+
+    @Query(DAY_TOTALS_SELECT + " GROUP BY r.bookingDate")
+    List<DayTotals> sumByDay(@Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate);
+
+    @Query(DAY_TOTALS_SELECT + " AND r.turfId = :turfId GROUP BY r.bookingDate")
+    List<DayTotals> sumByDayForTurf(
+            @Param("turfId") Long turfId,
+            @Param("fromDate") LocalDate fromDate,
+            @Param("toDate") LocalDate toDate);
+}
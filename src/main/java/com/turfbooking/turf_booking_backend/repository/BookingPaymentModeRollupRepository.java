@@ -0,0 +1,39 @@
+package com.turfbooking.turf_booking_backend.repository;
+
+import com.turfbooking.turf_booking_backend.entity.BookingPaymentModeRollup;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BookingPaymentModeRollupRepository
+        extends JpaRepository<BookingPaymentModeRollup, BookingPaymentModeRollup.Key> {
+
+    interface PaymentModeTotals {
+        String getPaymentMode();
+        Long getBookingCount();
+        BigDecimal getTotalAmount();
+    }
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM BookingPaymentModeRollup r " +
+            "WHERE r.turfId = :turfId AND r.bookingDate = :date AND r.paymentMode = :paymentMode")
+    Optional<BookingPaymentModeRollup> findForUpdate(
+            @Param("turfId") Long turfId,
+            @Param("date") LocalDate date,
+            @Param("paymentMode") String paymentMode);
+
+    // Modes whose bookings were all deleted keep zeroed rows; they are left out
+    @Query("SELECT r.paymentMode AS paymentMode, SUM(r.bookingCount) AS bookingCount, " +
+            "SUM(r.totalAmount) AS totalAmount FROM BookingPaymentModeRollup r " +
+            "GROUP BY r.paymentMode HAVING SUM(r.bookingCount) > 0")
+    List<PaymentModeTotals> sumByPaymentMode();
+}
@@ -1,23 +1,72 @@
 package com.turfbooking.turf_booking_backend.repository;
 
+import com.turfbooking.turf_booking_backend.dto.BookingViewDTO;
 import com.turfbooking.turf_booking_backend.entity.Booking;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
+    interface BookedSlot {
+        Long getId();
+        LocalTime getStartTime();
+        LocalTime getEndTime();
+    }
+
     List<Booking> findByUserId(Long userId);
 
+    // Row lock for read-modify-write paths, so concurrent status changes see each other's result
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b WHERE b.id = :id")
+    Optional<Booking> findForUpdate(@Param("id") Long id);
+
     List<Booking> findByTurfId(Long turfId);
+
+    // Scalar projection of the slots held on one turf-day; served by idx_bookings_turf_date_status
+    @Query("SELECT b.id AS id, b.startTime AS startTime, b.endTime AS endTime FROM Booking b " +
+            "WHERE b.turf.id = :turfId AND b.bookingDate = :date AND " +
+            "(b.status IN ('PENDING', 'CONFIRMED') OR b.bookingType = 'OFFLINE')")
+    List<BookedSlot> findActiveSlotsByTurfAndDate(
+            @Param("turfId") Long turfId,
+            @Param("date") LocalDate date);
+
+    interface BookedDaySlot extends BookedSlot {
+        LocalDate getBookingDate();
+    }
+
+    // Same projection across a date range, for calendar views
+    @Query("SELECT b.id AS id, b.bookingDate AS bookingDate, b.startTime AS startTime, b.endTime AS endTime " +
+            "FROM Booking b WHERE b.turf.id = :turfId AND b.bookingDate BETWEEN :fromDate AND :toDate AND " +
+            "(b.status IN ('PENDING', 'CONFIRMED') OR b.bookingType = 'OFFLINE')")
+    List<BookedDaySlot> findActiveSlotsByTurfAndDateRange(
+            @Param("turfId") Long turfId,
+            @Param("fromDate") LocalDate fromDate,
+            @Param("toDate") LocalDate toDate);
+
+    interface TurfBookedSlot extends BookedSlot {
+        Long getTurfId();
+    }
+
+    // Same projection for many turfs on one day, so a cross-turf search loads them in one query
+    @Query("SELECT b.turf.id AS turfId, b.id AS id, b.startTime AS startTime, b.endTime AS endTime " +
+            "FROM Booking b WHERE b.turf.id IN :turfIds AND b.bookingDate = :date AND " +
+            "(b.status IN ('PENDING', 'CONFIRMED') OR b.bookingType = 'OFFLINE')")
+    List<TurfBookedSlot> findActiveSlotsByTurfsAndDate(
+            @Param("turfIds") Collection<Long> turfIds,
+            @Param("date") LocalDate date);
     
     // Add paginated version with default sorting by bookingDate and startTime in descending order
     @Query("SELECT b FROM Booking b WHERE b.turf.id = :turfId ORDER BY b.bookingDate DESC, b.startTime DESC")
@@ -48,6 +97,28 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             @Param("startTime") LocalTime startTime,
             @Param("endTime") LocalTime endTime);
 
+    // Response views: each endpoint's bookings with their turf and user columns in one joined query
+    String VIEW_SELECT = "SELECT new com.turfbooking.turf_booking_backend.dto.BookingViewDTO(" +
+            "b.id, b.bookingDate, b.startTime, b.endTime, b.totalAmount, b.status, b.bookingType, b.paymentMode, " +
+            "b.fullName, b.phoneNumber, b.email, b.createdAt, t.id, t.name, t.location, t.pricePerHour, " +
+            "u.id, u.firstName, u.lastName, u.email) " +
+            "FROM Booking b JOIN b.turf t JOIN b.user u ";
+
+    @Query(VIEW_SELECT + "WHERE b.id = :id")
+    Optional<BookingViewDTO> findViewById(@Param("id") Long id);
+
+    @Query(VIEW_SELECT + "WHERE u.email = :email")
+    List<BookingViewDTO> findViewsByUserEmail(@Param("email") String email);
+
+    @Query(VIEW_SELECT + "WHERE u.email = :email AND b.bookingDate >= :startDate AND b.bookingDate <= :endDate")
+    List<BookingViewDTO> findViewsByUserEmailBetweenDates(
+            @Param("email") String email,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    @Query(VIEW_SELECT + "WHERE b.status = :status")
+    List<BookingViewDTO> findViewsByStatus(@Param("status") Booking.BookingStatus status);
+
     @Query("SELECT b FROM Booking b WHERE b.user.id = :userId AND b.bookingDate >= :startDate AND b.bookingDate <= :endDate")
     List<Booking> findUserBookingsBetweenDates(
             @Param("userId") Long userId,
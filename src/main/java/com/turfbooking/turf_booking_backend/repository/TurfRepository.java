@@ -10,6 +10,7 @@ import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface TurfRepository extends JpaRepository<Turf, Long> {
@@ -20,6 +21,8 @@ public interface TurfRepository extends JpaRepository<Turf, Long> {
 
     List<Turf> findByLocationContainingIgnoreCase(String location);
 
+    List<Turf> findByIsActiveTrueAndLocationContainingIgnoreCase(String location);
+
     @Query("SELECT t FROM Turf t WHERE t.isActive = true AND t.location LIKE %:location% AND t.pricePerHour BETWEEN :minPrice AND :maxPrice")
     Page<Turf> findTurfsByLocationAndPriceRange(
             @Param("location") String location,
@@ -28,4 +31,7 @@ public interface TurfRepository extends JpaRepository<Turf, Long> {
             Pageable pageable);
 
     List<Turf> findByOwnerId(Long ownerId);
+
+    @Query("SELECT t.owner.id FROM Turf t WHERE t.id = :turfId")
+    Optional<Long> findOwnerIdById(@Param("turfId") Long turfId);
 }
@@ -0,0 +1,19 @@
+package com.turfbooking.turf_booking_backend.repository;
+
+import com.turfbooking.turf_booking_backend.entity.UserBookingCounters;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface UserBookingCountersRepository extends JpaRepository<UserBookingCounters, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM UserBookingCounters c WHERE c.userId = :userId")
+    Optional<UserBookingCounters> findForUpdate(@Param("userId") Long userId);
+}
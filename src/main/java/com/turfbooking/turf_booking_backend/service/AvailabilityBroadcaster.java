@@ -0,0 +1,319 @@
+package com.turfbooking.turf_booking_backend.service;
+
+import com.turfbooking.turf_booking_backend.dto.SlotChangeDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * One shared change channel per turf-day. Each slot change gets a version from a
+ * process-wide, monotonically increasing sequence; a bounded history of recent changes
+ * lets SSE subscribers resume from Last-Event-ID. Subscribers are async SseEmitters, so
+ * idle connections hold no thread; fan-out runs on virtual threads. A channel with no
+ * subscribers is dropped once its day is past or nobody has read it for the idle timeout.
+ */
+@Component
+public class AvailabilityBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(AvailabilityBroadcaster.class);
+
+    // Seeded from the clock so versions keep increasing across restarts
+    private final AtomicLong sequence = new AtomicLong(System.currentTimeMillis() * 1000);
+
+    private final Map<DayKey, Channel> channels = new ConcurrentHashMap<>();
+    private final ExecutorService fanOut = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final int historySize;
+    private final long streamTimeoutMillis;
+    private final long channelIdleMillis;
+
+    public AvailabilityBroadcaster(@Value("${booking.availability.history-size:256}") int historySize,
+                                   @Value("${booking.availability.stream-timeout-ms:1800000}") long streamTimeoutMillis,
+                                   @Value("${booking.availability.channel-idle-ms:600000}") long channelIdleMillis) {
+        this.historySize = historySize;
+        this.streamTimeoutMillis = streamTimeoutMillis;
+        this.channelIdleMillis = channelIdleMillis;
+    }
+
+    public boolean isObserved(Long turfId, LocalDate date) {
+        return channels.containsKey(new DayKey(turfId, date));
+    }
+
+    // Records the current state of each slot; isTaken is evaluated under the channel lock so the latest publish wins
+    public void publish(Long turfId, LocalDate date, Collection<LocalTime> slotStarts, Predicate<LocalTime> isTaken) {
+        Channel channel = channels.get(new DayKey(turfId, date));
+        if (channel == null || slotStarts.isEmpty()) {
+            // Nobody has seen a version of this day yet; first readers start from a snapshot
+            return;
+        }
+        channel.stateLock.lock();
+        try {
+            for (LocalTime start : slotStarts) {
+                SlotChangeDTO change = new SlotChangeDTO(sequence.incrementAndGet(), start, isTaken.test(start));
+                channel.history.addLast(change);
+                if (channel.history.size() > historySize) {
+                    channel.trimmedVersion = channel.history.removeFirst().getVersion();
+                }
+                channel.version = change.getVersion();
+            }
+        } finally {
+            channel.stateLock.unlock();
+        }
+        if (!channel.subscribers.isEmpty()) {
+            fanOut.execute(() -> flush(channel));
+        }
+    }
+
+    // Changes after sinceVersion; starts tracking the day on first use so later calls can be answered from memory
+    public Delta changesSince(Long turfId, LocalDate date, long sinceVersion) {
+        DayKey key = new DayKey(turfId, date);
+        Channel channel = channels.get(key);
+        if (channel != null) {
+            channel.lastUsedMillis = System.currentTimeMillis();
+        } else {
+            channel = open(key, false);
+        }
+        channel.stateLock.lock();
+        try {
+            return new Delta(channel.version, channel.changesBetween(sinceVersion, channel.version));
+        } finally {
+            channel.stateLock.unlock();
+        }
+    }
+
+    public SseEmitter subscribe(Long turfId, LocalDate date, Long lastEventId, Supplier<List<LocalTime>> snapshot) {
+        Channel channel = open(new DayKey(turfId, date), true);
+        SseEmitter emitter = createEmitter();
+
+        channel.sendLock.lock();
+        try {
+            flushLocked(channel);
+            long sent = channel.lastSentVersion;
+            List<SlotChangeDTO> missed = lastEventId == null ? null : channel.changesBetween(lastEventId, sent);
+            if (missed != null) {
+                for (SlotChangeDTO change : missed) {
+                    send(emitter, change);
+                }
+            } else {
+                // Snapshot may already include unsent changes; slot events carry absolute state, so replaying them is harmless
+                emitter.send(SseEmitter.event()
+                        .id(String.valueOf(sent))
+                        .name("snapshot")
+                        .data(new Snapshot(sent, snapshot.get()), MediaType.APPLICATION_JSON));
+            }
+            channel.subscribers.add(emitter);
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+            return emitter;
+        } finally {
+            channel.pendingSubscribers.decrementAndGet();
+            channel.sendLock.unlock();
+        }
+
+        Runnable unsubscribe = () -> unsubscribe(channel, emitter);
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(e -> unsubscribe.run());
+        return emitter;
+    }
+
+    @Scheduled(fixedRateString = "${booking.availability.heartbeat-ms:15000}")
+    public void heartbeat() {
+        LocalDate today = LocalDate.now();
+        long idleSince = System.currentTimeMillis() - channelIdleMillis;
+        channels.forEach((key, channel) -> {
+            if (channel.subscribers.isEmpty()) {
+                // Checked under the map's lock for this key, which open() also takes, so nobody can be joining it
+                channels.computeIfPresent(key, (k, current) ->
+                        current == channel && current.isUnused(k.date().isBefore(today), idleSince) ? null : current);
+                return;
+            }
+            fanOut.execute(() -> {
+                channel.sendLock.lock();
+                try {
+                    for (SseEmitter emitter : channel.subscribers) {
+                        try {
+                            emitter.send(SseEmitter.event().comment("heartbeat"));
+                        } catch (IOException | IllegalStateException e) {
+                            drop(channel, emitter);
+                        }
+                    }
+                } finally {
+                    channel.sendLock.unlock();
+                }
+            });
+        });
+    }
+
+    SseEmitter createEmitter() {
+        return new SseEmitter(streamTimeoutMillis);
+    }
+
+    // Creates or reuses the day's channel and marks it used; a subscriber counts as pending until it is attached
+    private Channel open(DayKey key, boolean subscribing) {
+        return channels.compute(key, (k, existing) -> {
+            Channel channel = existing != null ? existing : new Channel(sequence.get());
+            channel.lastUsedMillis = System.currentTimeMillis();
+            if (subscribing) {
+                channel.pendingSubscribers.incrementAndGet();
+            }
+            return channel;
+        });
+    }
+
+    // The idle timeout starts when the last subscriber leaves
+    private void unsubscribe(Channel channel, SseEmitter emitter) {
+        if (channel.subscribers.remove(emitter)) {
+            channel.lastUsedMillis = System.currentTimeMillis();
+        }
+    }
+
+    private void flush(Channel channel) {
+        channel.sendLock.lock();
+        try {
+            flushLocked(channel);
+        } finally {
+            channel.sendLock.unlock();
+        }
+    }
+
+    // Caller holds sendLock, which keeps every subscriber's stream in version order
+    private void flushLocked(Channel channel) {
+        List<SlotChangeDTO> pending = channel.changesBetween(channel.lastSentVersion, Long.MAX_VALUE);
+        if (pending == null) {
+            // History rolled past what subscribers have seen; closing makes them reconnect and take a snapshot
+            for (SseEmitter emitter : channel.subscribers) {
+                drop(channel, emitter);
+            }
+            channel.lastSentVersion = channel.currentVersion();
+            return;
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+        for (SseEmitter emitter : channel.subscribers) {
+            try {
+                for (SlotChangeDTO change : pending) {
+                    send(emitter, change);
+                }
+            } catch (IOException | IllegalStateException e) {
+                drop(channel, emitter);
+            }
+        }
+        channel.lastSentVersion = pending.get(pending.size() - 1).getVersion();
+    }
+
+    private void send(SseEmitter emitter, SlotChangeDTO change) throws IOException {
+        emitter.send(SseEmitter.event()
+                .id(String.valueOf(change.getVersion()))
+                .name("slot")
+                .data(change, MediaType.APPLICATION_JSON));
+    }
+
+    private void drop(Channel channel, SseEmitter emitter) {
+        unsubscribe(channel, emitter);
+        try {
+            emitter.complete();
+        } catch (Exception e) {
+            log.debug("Ignoring failure closing availability stream: {}", e.getMessage());
+        }
+    }
+
+    // Hourly slot starts covered by [startTime, endTime); an end at or before the start runs to midnight
+    static List<LocalTime> slotStarts(LocalTime startTime, LocalTime endTime) {
+        int start = BookingAvailabilityIndex.toMinute(startTime);
+        int end = BookingAvailabilityIndex.toEndMinute(start, endTime);
+        List<LocalTime> starts = new ArrayList<>();
+        for (int minute = start; minute < end; minute += 60) {
+            starts.add(LocalTime.of(minute / 60, minute % 60));
+        }
+        return starts;
+    }
+
+    public record Snapshot(long version, List<LocalTime> bookedStartTimes) {}
+
+    // changes is null when the history no longer reaches back to the requested version
+    public record Delta(long version, List<SlotChangeDTO> changes) {
+
+        public boolean isUnchanged() {
+            return changes != null && changes.isEmpty();
+        }
+    }
+
+    private record DayKey(Long turfId, LocalDate date) {}
+
+    private static final class Channel {
+
+        private final ReentrantLock stateLock = new ReentrantLock();
+        private final ReentrantLock sendLock = new ReentrantLock();
+        private final ArrayDeque<SlotChangeDTO> history = new ArrayDeque<>();
+        private final List<SseEmitter> subscribers = new CopyOnWriteArrayList<>();
+        private final AtomicInteger pendingSubscribers = new AtomicInteger();
+        private final long baseVersion;
+        private volatile long lastUsedMillis;
+        private long version;
+        private long trimmedVersion;
+        private long lastSentVersion;
+
+        private Channel(long baseVersion) {
+            this.baseVersion = baseVersion;
+            this.trimmedVersion = baseVersion;
+            this.version = baseVersion;
+            this.lastSentVersion = baseVersion;
+        }
+
+        boolean isUnused(boolean pastDay, long idleSince) {
+            return subscribers.isEmpty() && pendingSubscribers.get() == 0 && (pastDay || lastUsedMillis <= idleSince);
+        }
+
+        long currentVersion() {
+            stateLock.lock();
+            try {
+                return version;
+            } finally {
+                stateLock.unlock();
+            }
+        }
+
+        // Changes in (fromVersion, toVersion], or null when history no longer covers fromVersion
+        List<SlotChangeDTO> changesBetween(long fromVersion, long toVersion) {
+            stateLock.lock();
+            try {
+                if (fromVersion > version || fromVersion < Math.max(baseVersion, trimmedVersion)) {
+                    return null;
+                }
+                List<SlotChangeDTO> changes = new ArrayList<>();
+                for (SlotChangeDTO change : history) {
+                    if (change.getVersion() > fromVersion && change.getVersion() <= toVersion) {
+                        changes.add(change);
+                    }
+                }
+                return changes;
+            } finally {
+                stateLock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,427 @@
+package com.turfbooking.turf_booking_backend.service;
+
+import com.turfbooking.turf_booking_backend.entity.Booking;
+import com.turfbooking.turf_booking_backend.repository.BookingRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-memory availability index keyed by (turfId, bookingDate).
+ * Each loaded day holds a minute-of-day bitset of the slots taken by active
+ * bookings, so availability checks don't need a database round trip.
+ * A day is registered before its query runs and every write bumps its version,
+ * so a snapshot read before a concurrent write is retried rather than installed.
+ * Days nobody has read for a while are dropped on reconcile, and past max-days the
+ * least recently read ones go first; a dropped day simply loads again on its next read.
+ */
+@Component
+public class BookingAvailabilityIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingAvailabilityIndex.class);
+
+    static final int MINUTES_PER_DAY = 24 * 60;
+
+    // A load that keeps losing to concurrent writes merges its snapshot in after this many tries
+    static final int MAX_LOAD_ATTEMPTS = 3;
+
+    // Keeps IN lists for multi-turf loads a reasonable size
+    static final int MAX_TURFS_PER_QUERY = 500;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Value("${booking.availability.max-days:20000}")
+    private int maxDays;
+
+    @Value("${booking.availability.day-idle-ms:1800000}")
+    private long dayIdleMillis;
+
+    private final AtomicBoolean trimming = new AtomicBoolean();
+
+    private final Map<DayKey, DaySlots> days = new ConcurrentHashMap<>();
+
+    // Reverse lookup so cancel/delete only need the booking id
+    private final Map<Long, DayKey> bookingDays = new ConcurrentHashMap<>();
+
+    public boolean isAvailable(Long turfId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        int start = toMinute(startTime);
+        return day(turfId, date).isFree(start, toEndMinute(start, endTime));
+    }
+
+    public List<LocalTime> getBookedStartTimes(Long turfId, LocalDate date) {
+        return day(turfId, date).startTimes();
+    }
+
+    // Turfs among turfIds that are free for the whole slot; days not in memory yet are loaded with one query
+    public List<Long> findAvailableTurfs(List<Long> turfIds, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        List<Long> missing = new ArrayList<>();
+        for (Long turfId : turfIds) {
+            DaySlots slots = days.get(new DayKey(turfId, date));
+            if (slots == null || !slots.isLoaded()) {
+                missing.add(turfId);
+            }
+        }
+        if (!missing.isEmpty()) {
+            loadAll(missing, date);
+        }
+
+        int start = toMinute(startTime);
+        int end = toEndMinute(start, endTime);
+        List<Long> available = new ArrayList<>();
+        for (Long turfId : turfIds) {
+            if (day(turfId, date).isFree(start, end)) {
+                available.add(turfId);
+            }
+        }
+        return available;
+    }
+
+    // Record a newly created or updated booking; inactive bookings are dropped from the index
+    public void record(Booking booking) {
+        if (booking.getId() == null || booking.getTurf() == null || booking.getBookingDate() == null) {
+            return;
+        }
+        DayKey key = new DayKey(booking.getTurf().getId(), booking.getBookingDate());
+        DayKey previous = bookingDays.get(booking.getId());
+        if (previous != null && !previous.equals(key)) {
+            remove(booking.getId());
+        }
+        if (!isBlocking(booking)) {
+            forget(booking.getId(), key);
+            return;
+        }
+        // Days that are not registered yet will pick the booking up on first read; a day
+        // that is still loading takes it too, which makes the in-flight snapshot retry
+        DaySlots slots = days.get(key);
+        if (slots != null) {
+            int start = toMinute(booking.getStartTime());
+            slots.put(booking.getId(), start, toEndMinute(start, booking.getEndTime()));
+            bookingDays.put(booking.getId(), key);
+        }
+    }
+
+    // Drop a deleted booking; its day is known even if the reverse lookup hasn't seen it yet
+    public void remove(Booking booking) {
+        if (booking.getId() == null || booking.getTurf() == null || booking.getBookingDate() == null) {
+            return;
+        }
+        forget(booking.getId(), new DayKey(booking.getTurf().getId(), booking.getBookingDate()));
+    }
+
+    public void remove(Long bookingId) {
+        DayKey key = bookingDays.get(bookingId);
+        if (key != null) {
+            forget(bookingId, key);
+        }
+    }
+
+    private void forget(Long bookingId, DayKey key) {
+        bookingDays.remove(bookingId);
+        DaySlots slots = days.get(key);
+        if (slots != null) {
+            slots.remove(bookingId);
+        }
+    }
+
+    // Reconcile loaded days against the database so missed updates fix themselves; one query per date
+    @Scheduled(fixedDelayString = "${booking.availability.reconcile-interval-ms:300000}",
+            initialDelayString = "${booking.availability.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        LocalDate today = LocalDate.now();
+        long idleSince = System.currentTimeMillis() - dayIdleMillis;
+        Map<LocalDate, List<Long>> turfsByDate = new TreeMap<>();
+        for (Map.Entry<DayKey, DaySlots> entry : days.entrySet()) {
+            DayKey key = entry.getKey();
+            if (key.date().isBefore(today) || entry.getValue().lastReadMillis() < idleSince) {
+                evict(key);
+            } else if (entry.getValue().isLoaded()) {
+                turfsByDate.computeIfAbsent(key.date(), d -> new ArrayList<>()).add(key.turfId());
+            }
+        }
+        int refreshed = 0;
+        for (Map.Entry<LocalDate, List<Long>> entry : turfsByDate.entrySet()) {
+            refreshed += refreshAll(entry.getValue(), entry.getKey());
+        }
+        log.debug("Availability index reconciled {} turf-days", refreshed);
+    }
+
+    private DaySlots day(Long turfId, LocalDate date) {
+        DayKey key = new DayKey(turfId, date);
+        DaySlots slots = days.get(key);
+        if (slots != null && slots.isLoaded()) {
+            slots.touch();
+            return slots;
+        }
+        return load(key);
+    }
+
+    private DaySlots load(DayKey key) {
+        DaySlots slots = register(key);
+        for (int attempt = 1; ; attempt++) {
+            long version = slots.version();
+            DaySlots snapshot = query(key);
+            if (install(key, slots, snapshot, version)) {
+                return slots;
+            }
+            if (attempt == MAX_LOAD_ATTEMPTS) {
+                // Erring towards busy: a booking cancelled meanwhile stays blocked until the next reconcile
+                slots.mergeWith(snapshot);
+                snapshot.bookingIds().forEach(id -> bookingDays.put(id, key));
+                return slots;
+            }
+        }
+    }
+
+    // A loaded day written to while its snapshot was read keeps its state until the next round
+    private int refreshAll(List<Long> turfIds, LocalDate date) {
+        Map<Long, DaySlots> loaded = new HashMap<>();
+        Map<Long, Long> versions = new HashMap<>();
+        for (Long turfId : turfIds) {
+            DaySlots slots = days.get(new DayKey(turfId, date));
+            if (slots != null && slots.isLoaded()) {
+                loaded.put(turfId, slots);
+                versions.put(turfId, slots.version());
+            }
+        }
+        Map<Long, DaySlots> snapshots = queryAll(loaded.keySet(), date);
+        int refreshed = 0;
+        for (Map.Entry<Long, DaySlots> entry : loaded.entrySet()) {
+            Long turfId = entry.getKey();
+            if (install(new DayKey(turfId, date), entry.getValue(), snapshots.get(turfId), versions.get(turfId))) {
+                refreshed++;
+            }
+        }
+        return refreshed;
+    }
+
+    private DaySlots query(DayKey key) {
+        DaySlots snapshot = new DaySlots();
+        for (BookingRepository.BookedSlot slot : bookingRepository.findActiveSlotsByTurfAndDate(key.turfId(), key.date())) {
+            int start = toMinute(slot.getStartTime());
+            snapshot.put(slot.getId(), start, toEndMinute(start, slot.getEndTime()));
+        }
+        return snapshot;
+    }
+
+    // Many turfs on one day, MAX_TURFS_PER_QUERY at a time
+    private Map<Long, DaySlots> queryAll(Collection<Long> turfIds, LocalDate date) {
+        Map<Long, DaySlots> snapshots = new HashMap<>();
+        List<Long> ids = new ArrayList<>(turfIds);
+        for (Long turfId : ids) {
+            snapshots.put(turfId, new DaySlots());
+        }
+        for (int from = 0; from < ids.size(); from += MAX_TURFS_PER_QUERY) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + MAX_TURFS_PER_QUERY));
+            for (BookingRepository.TurfBookedSlot slot : bookingRepository.findActiveSlotsByTurfsAndDate(chunk, date)) {
+                int start = toMinute(slot.getStartTime());
+                snapshots.get(slot.getTurfId()).put(slot.getId(), start, toEndMinute(start, slot.getEndTime()));
+            }
+        }
+        return snapshots;
+    }
+
+    private void loadAll(List<Long> turfIds, LocalDate date) {
+        Map<Long, DaySlots> registered = new HashMap<>();
+        Map<Long, Long> versions = new HashMap<>();
+        for (Long turfId : turfIds) {
+            DaySlots slots = register(new DayKey(turfId, date));
+            registered.put(turfId, slots);
+            versions.put(turfId, slots.version());
+        }
+        Map<Long, DaySlots> snapshots = queryAll(turfIds, date);
+        for (Long turfId : turfIds) {
+            DayKey key = new DayKey(turfId, date);
+            if (!install(key, registered.get(turfId), snapshots.get(turfId), versions.get(turfId))) {
+                load(key);
+            }
+        }
+    }
+
+    private boolean install(DayKey key, DaySlots slots, DaySlots snapshot, long version) {
+        if (!slots.replaceWith(snapshot, version)) {
+            return false;
+        }
+        snapshot.bookingIds().forEach(id -> bookingDays.put(id, key));
+        return true;
+    }
+
+    private DaySlots register(DayKey key) {
+        DaySlots slots = days.computeIfAbsent(key, k -> new DaySlots());
+        slots.touch();
+        if (days.size() > maxDays) {
+            trim();
+        }
+        return slots;
+    }
+
+    // Drops the least recently read days down to 90% of maxDays, so a full index doesn't sort on every new day
+    private void trim() {
+        if (!trimming.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            // Read times are copied first; they keep changing while we sort
+            List<Map.Entry<DayKey, Long>> byLastRead = new ArrayList<>(days.size());
+            days.forEach((key, slots) -> byLastRead.add(Map.entry(key, slots.lastReadMillis())));
+            byLastRead.sort(Map.Entry.comparingByValue());
+            int excess = byLastRead.size() - maxDays * 9 / 10;
+            for (int i = 0; i < excess; i++) {
+                evict(byLastRead.get(i).getKey());
+            }
+        } finally {
+            trimming.set(false);
+        }
+    }
+
+    private void evict(DayKey key) {
+        DaySlots slots = days.remove(key);
+        if (slots != null) {
+            for (Long id : slots.bookingIds()) {
+                bookingDays.remove(id);
+            }
+        }
+    }
+
+    // Same rule as BookingRepository.findConflictingBookings
+    static boolean isBlocking(Booking booking) {
+        return booking.getStatus() == Booking.BookingStatus.PENDING
+                || booking.getStatus() == Booking.BookingStatus.CONFIRMED
+                || booking.getBookingType() == Booking.BookingType.OFFLINE;
+    }
+
+    static int toMinute(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    // An end time at or before the start is read as midnight, as in the slot_range column (V9);
+    // SlotCalculator only lets 00:00 through, so only older rows rely on the cap
+    static int toEndMinute(int start, LocalTime endTime) {
+        int end = toMinute(endTime);
+        return end <= start ? MINUTES_PER_DAY : end;
+    }
+
+    private record DayKey(Long turfId, LocalDate date) {}
+
+    /**
+     * Bookings for one turf-day plus the bitset derived from them.
+     * Intervals are kept so a removal can't clear minutes another booking still holds.
+     * The version counts writes, so a loader can tell its snapshot went stale.
+     */
+    static final class DaySlots {
+
+        private final long[] bits = new long[(MINUTES_PER_DAY + 63) / 64];
+        private final Map<Long, int[]> intervals = new HashMap<>();
+        private boolean loaded;
+        private long version;
+        private volatile long lastReadMillis = System.currentTimeMillis();
+
+        void touch() {
+            lastReadMillis = System.currentTimeMillis();
+        }
+
+        long lastReadMillis() {
+            return lastReadMillis;
+        }
+
+        synchronized boolean isLoaded() {
+            return loaded;
+        }
+
+        synchronized long version() {
+            return version;
+        }
+
+        synchronized boolean isFree(int start, int end) {
+            for (int minute = start; minute < end; ) {
+                int word = minute >>> 6;
+                int from = minute & 63;
+                int to = Math.min(64, from + (end - minute));
+                long mask = (to == 64 ? -1L : (1L << to) - 1) & (-1L << from);
+                if ((bits[word] & mask) != 0) {
+                    return false;
+                }
+                minute += to - from;
+            }
+            return true;
+        }
+
+        synchronized void put(Long bookingId, int start, int end) {
+            int[] previous = intervals.put(bookingId, new int[]{start, end});
+            if (previous != null) {
+                rebuild();
+            } else {
+                set(start, end);
+            }
+            version++;
+        }
+
+        // Bumps the version even when the booking isn't here yet: it may be in a snapshot in flight
+        synchronized void remove(Long bookingId) {
+            if (intervals.remove(bookingId) != null) {
+                rebuild();
+            }
+            version++;
+        }
+
+        // Takes over the snapshot unless a write landed since expectedVersion was read
+        synchronized boolean replaceWith(DaySlots snapshot, long expectedVersion) {
+            if (version != expectedVersion) {
+                return false;
+            }
+            intervals.clear();
+            intervals.putAll(snapshot.intervals);
+            rebuild();
+            loaded = true;
+            return true;
+        }
+
+        // Union of the snapshot and the writes recorded meanwhile
+        synchronized void mergeWith(DaySlots snapshot) {
+            snapshot.intervals.forEach(intervals::putIfAbsent);
+            rebuild();
+            loaded = true;
+        }
+
+        synchronized List<LocalTime> startTimes() {
+            List<LocalTime> starts = new ArrayList<>(intervals.size());
+            for (int[] interval : intervals.values()) {
+                starts.add(LocalTime.of(interval[0] / 60, interval[0] % 60));
+            }
+            starts.sort(null);
+            return starts;
+        }
+
+        synchronized List<Long> bookingIds() {
+            return new ArrayList<>(intervals.keySet());
+        }
+
+        private void rebuild() {
+            Arrays.fill(bits, 0L);
+            for (int[] interval : intervals.values()) {
+                set(interval[0], interval[1]);
+            }
+        }
+
+        private void set(int start, int end) {
+            for (int minute = start; minute < end; minute++) {
+                bits[minute >>> 6] |= 1L << (minute & 63);
+            }
+        }
+    }
+}
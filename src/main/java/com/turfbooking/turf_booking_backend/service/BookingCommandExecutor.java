@@ -0,0 +1,209 @@
+package com.turfbooking.turf_booking_backend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Optional single-writer mode for booking commands: each turf gets a bounded mailbox
+ * drained by its own virtual thread, so commands for one turf run strictly in arrival
+ * order while different turfs run in parallel. A full mailbox fails fast, and so does a
+ * caller whose command has not started within the wait timeout. Mailboxes are dropped
+ * once drained, so only turfs with queued work hold one.
+ * Disabled by default, in which case commands run on the calling thread.
+ */
+@Component
+public class BookingCommandExecutor {
+
+    private final boolean enabled;
+    private final int mailboxCapacity;
+    private final long waitTimeoutMs;
+    private final Map<Long, Mailbox> mailboxes = new ConcurrentHashMap<>();
+
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong timedOut = new AtomicLong();
+    // Kept after a turf's mailbox is dropped, so there is at most one entry per turf ever booked
+    private final Map<Long, WaitStats> waitStats = new ConcurrentHashMap<>();
+
+    public BookingCommandExecutor(@Value("${booking.executor.enabled:false}") boolean enabled,
+                                  @Value("${booking.executor.mailbox-capacity:256}") int mailboxCapacity,
+                                  @Value("${booking.executor.wait-timeout-ms:10000}") long waitTimeoutMs) {
+        this.enabled = enabled;
+        this.mailboxCapacity = mailboxCapacity;
+        this.waitTimeoutMs = waitTimeoutMs;
+    }
+
+    public <T> T execute(Long turfId, Supplier<T> command) {
+        if (!enabled || turfId == null) {
+            return command.get();
+        }
+        Command<T> queued = new Command<>(command);
+        // Offered under the map's lock for this turf, so a drainer can't retire the mailbox in between
+        Mailbox mailbox = mailboxes.compute(turfId, (id, existing) -> {
+            Mailbox target = existing != null ? existing : new Mailbox(id, mailboxCapacity);
+            queued.accepted = target.queue.offer(queued);
+            return target;
+        });
+        if (!queued.accepted) {
+            rejected.incrementAndGet();
+            throw new RuntimeException("Booking system is busy, please try again");
+        }
+        mailbox.scheduleDrain();
+
+        try {
+            return queued.result.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            timedOut.incrementAndGet();
+            // Not started yet: withdraw it so it never runs behind the caller's back
+            if (queued.started.compareAndSet(false, true)) {
+                mailbox.queue.remove(queued);
+                throw new RuntimeException("Booking system is busy, please try again");
+            }
+            throw new RuntimeException("Booking request is still being processed, please check your bookings before retrying");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new RuntimeException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for booking command");
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Executor-wide throughput, plus each turf's queue depth and wait times in milliseconds
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("completed", completed.get());
+        stats.put("rejected", rejected.get());
+        stats.put("timedOut", timedOut.get());
+        Map<Long, Map<String, Object>> turfs = new TreeMap<>();
+        waitStats.forEach((turfId, wait) -> turfs.put(turfId, wait.toMap(queueDepth(turfId))));
+        mailboxes.forEach((turfId, mailbox) ->
+                turfs.computeIfAbsent(turfId, id -> new WaitStats().toMap(mailbox.queue.size())));
+        stats.put("turfs", turfs);
+        return stats;
+    }
+
+    int mailboxCount() {
+        return mailboxes.size();
+    }
+
+    private int queueDepth(Long turfId) {
+        Mailbox mailbox = mailboxes.get(turfId);
+        return mailbox != null ? mailbox.queue.size() : 0;
+    }
+
+    private static final class WaitStats {
+
+        private final AtomicLong completed = new AtomicLong();
+        private final AtomicLong totalWaitNanos = new AtomicLong();
+        private final AtomicLong maxWaitNanos = new AtomicLong();
+
+        void record(long waitedNanos) {
+            totalWaitNanos.addAndGet(waitedNanos);
+            maxWaitNanos.accumulateAndGet(waitedNanos, Math::max);
+            completed.incrementAndGet();
+        }
+
+        Map<String, Object> toMap(int queueDepth) {
+            long done = completed.get();
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("queueDepth", queueDepth);
+            stats.put("completed", done);
+            stats.put("avgWaitMs", done == 0 ? 0.0 : totalWaitNanos.get() / 1_000_000.0 / done);
+            stats.put("maxWaitMs", maxWaitNanos.get() / 1_000_000.0);
+            return stats;
+        }
+    }
+
+    private static final class Command<T> {
+
+        private final Supplier<T> action;
+        private final long enqueuedAt = System.nanoTime();
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        // Claimed by whichever comes first: the drainer running it or the caller giving up on it
+        private final AtomicBoolean started = new AtomicBoolean();
+        private boolean accepted;
+
+        private Command(Supplier<T> action) {
+            this.action = action;
+        }
+
+        // Stats are recorded before the caller is woken, so they already include its command
+        void run(Runnable recordStats) {
+            if (!started.compareAndSet(false, true)) {
+                return;
+            }
+            T value;
+            try {
+                value = action.get();
+            } catch (Throwable t) {
+                recordStats.run();
+                result.completeExceptionally(t);
+                return;
+            }
+            recordStats.run();
+            result.complete(value);
+        }
+    }
+
+    private final class Mailbox {
+
+        private final Long turfId;
+        private final BlockingQueue<Command<?>> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final WaitStats wait;
+
+        private Mailbox(Long turfId, int capacity) {
+            this.turfId = turfId;
+            this.wait = waitStats.computeIfAbsent(turfId, id -> new WaitStats());
+            // Linked so an idle or short-lived mailbox doesn't allocate its full capacity up front
+            this.queue = new LinkedBlockingQueue<>(capacity);
+        }
+
+        // At most one drainer per mailbox; it exits when the queue is empty so idle turfs hold no thread
+        void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                Thread.ofVirtual().name("booking-turf-" + turfId).start(this::drain);
+            }
+        }
+
+        private void drain() {
+            do {
+                Command<?> command;
+                while ((command = queue.poll()) != null) {
+                    long waited = System.nanoTime() - command.enqueuedAt;
+                    command.run(() -> {
+                        wait.record(waited);
+                        completed.incrementAndGet();
+                    });
+                }
+                draining.set(false);
+                // A command offered after the last poll but before the reset would otherwise be stranded
+            } while (!queue.isEmpty() && draining.compareAndSet(false, true));
+
+            // Offers happen under the same lock, so an empty, idle mailbox can't gain work while it is dropped
+            mailboxes.computeIfPresent(turfId, (id, current) ->
+                    current == this && queue.isEmpty() && !draining.get() ? null : current);
+        }
+    }
+}
@@ -1,7 +1,8 @@
 package com.turfbooking.turf_booking_backend.service;
 
 import com.turfbooking.turf_booking_backend.dto.BookingDetailsDTO;
-import com.turfbooking.turf_booking_backend.entity.Booking;
+import com.turfbooking.turf_booking_backend.dto.CursorPageDTO;
+import com.turfbooking.turf_booking_backend.repository.BookingDailyRollupRepository;
 import com.turfbooking.turf_booking_backend.repository.BookingRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -14,66 +15,118 @@ import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.Query;
 import jakarta.persistence.TypedQuery;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Base64;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 public class BookingDetailsService {
 
     @Autowired
     private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingDailyRollupRepository rollupRepository;
     
     @PersistenceContext
     private EntityManager entityManager;
 
+    static final int MAX_PAGE_SIZE = 100;
+
+    // Selects only the DTO columns in one joined query; no entities enter the persistence context
+    private static final String DETAILS_SELECT = "SELECT new com.turfbooking.turf_booking_backend.dto.BookingDetailsDTO(" +
+            "b.id, t.name, b.bookingDate, b.startTime, b.endTime, b.fullName, b.phoneNumber, b.email, " +
+            "u.firstName, u.lastName, u.phone, u.email, p.paymentMethod, b.totalAmount, b.status) " +
+            "FROM Booking b " +
+            "JOIN b.turf t " +
+            "LEFT JOIN b.user u " +
+            "LEFT JOIN b.payment p " +
+            "WHERE t.id = :turfId ";
+
     @Transactional(readOnly = true)
     public List<BookingDetailsDTO> getBookingDetailsByTurf(Long turfId) {
-        // Use eager fetching to avoid N+1 problem
-        String jpql = "SELECT b FROM Booking b " +
-                      "LEFT JOIN FETCH b.user " +
-                      "LEFT JOIN FETCH b.turf " +
-                      "LEFT JOIN FETCH b.payment " +
-                      "WHERE b.turf.id = :turfId " +
-                      "ORDER BY b.bookingDate DESC, b.startTime DESC";
-        
-        List<Booking> bookings = entityManager.createQuery(jpql, Booking.class)
+        return entityManager.createQuery(DETAILS_SELECT +
+                        "ORDER BY b.bookingDate DESC, b.startTime DESC", BookingDetailsDTO.class)
                 .setParameter("turfId", turfId)
                 .getResultList();
-        
-        // Convert to DTOs
-        return bookings.stream()
-                .map(BookingDetailsDTO::new)
-                .collect(Collectors.toList());
     }
     
     @Transactional(readOnly = true)
     public Page<BookingDetailsDTO> getBookingDetailsByTurfPaginated(Long turfId, Pageable pageable) {
         // Count query for total elements
-        String countJpql = "SELECT COUNT(b) FROM Booking b WHERE b.turf.id = :turfId";
-        Long total = entityManager.createQuery(countJpql, Long.class)
+        Long total = entityManager.createQuery("SELECT COUNT(b) FROM Booking b WHERE b.turf.id = :turfId", Long.class)
                 .setParameter("turfId", turfId)
                 .getSingleResult();
         
         // Data query with pagination
-        String jpql = "SELECT b FROM Booking b " +
-                      "LEFT JOIN FETCH b.user " +
-                      "LEFT JOIN FETCH b.turf " +
-                      "LEFT JOIN FETCH b.payment " +
-                      "WHERE b.turf.id = :turfId " +
-                      "ORDER BY b.bookingDate DESC, b.startTime DESC";
-        
-        TypedQuery<Booking> query = entityManager.createQuery(jpql, Booking.class)
+        List<BookingDetailsDTO> dtos = entityManager.createQuery(DETAILS_SELECT +
+                        "ORDER BY b.bookingDate DESC, b.startTime DESC", BookingDetailsDTO.class)
                 .setParameter("turfId", turfId)
                 .setFirstResult((int) pageable.getOffset())
-                .setMaxResults(pageable.getPageSize());
-        
-        List<Booking> bookings = query.getResultList();
-        
-        // Convert to DTOs
-        List<BookingDetailsDTO> dtos = bookings.stream()
-                .map(BookingDetailsDTO::new)
-                .collect(Collectors.toList());
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
         
         return new PageImpl<>(dtos, pageable, total);
     }
-}
\ No newline at end of file
+
+    // Seeks past the cursor on (bookingDate, startTime, id) instead of skipping rows, so
+    // every page costs the same however deep it is
+    @Transactional(readOnly = true)
+    public CursorPageDTO<BookingDetailsDTO> getBookingDetailsByTurfAfter(Long turfId, String cursor, int size,
+                                                                         boolean includeTotal) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        Cursor after = cursor != null && !cursor.isEmpty() ? Cursor.decode(cursor) : null;
+
+        String jpql = DETAILS_SELECT +
+                      (after != null ? "AND (b.bookingDate, b.startTime, b.id) < (:date, :time, :id) " : "") +
+                      "ORDER BY b.bookingDate DESC, b.startTime DESC, b.id DESC";
+
+        TypedQuery<BookingDetailsDTO> query = entityManager.createQuery(jpql, BookingDetailsDTO.class)
+                .setParameter("turfId", turfId)
+                .setMaxResults(pageSize + 1);
+        if (after != null) {
+            query.setParameter("date", after.date())
+                    .setParameter("time", after.time())
+                    .setParameter("id", after.id());
+        }
+
+        // One extra row tells whether another page follows
+        List<BookingDetailsDTO> dtos = query.getResultList();
+        boolean hasNext = dtos.size() > pageSize;
+        if (hasNext) {
+            dtos = dtos.subList(0, pageSize);
+        }
+
+        String nextCursor = null;
+        if (hasNext) {
+            BookingDetailsDTO last = dtos.get(dtos.size() - 1);
+            nextCursor = new Cursor(last.bookingDate(), last.startTime(), last.id()).encode();
+        }
+
+        return new CursorPageDTO<>(dtos, nextCursor, includeTotal ? countBookingsByTurf(turfId) : null);
+    }
+
+    // Sums the turf's daily rollup rows, which booking writes keep exact in their own transaction
+    public long countBookingsByTurf(Long turfId) {
+        return rollupRepository.countBookingsByTurf(turfId);
+    }
+
+    record Cursor(LocalDate date, LocalTime time, long id) {
+
+        String encode() {
+            String raw = date + "|" + time + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String cursor) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+                return new Cursor(LocalDate.parse(parts[0]), LocalTime.parse(parts[1]), Long.parseLong(parts[2]));
+            } catch (RuntimeException e) {
+                throw new RuntimeException("Invalid cursor");
+            }
+        }
+    }
+}
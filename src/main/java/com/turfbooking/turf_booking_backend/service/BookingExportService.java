@@ -0,0 +1,239 @@
+package com.turfbooking.turf_booking_backend.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.regex.Pattern;
+
+/**
+ * Streams a turf's bookings as CSV or NDJSON. Rows are read through a forward-only,
+ * read-only cursor with a bounded fetch size and written out one at a time, so memory
+ * stays flat however many bookings the turf has. PostgreSQL only uses a server-side
+ * cursor inside a transaction, hence the surrounding read-only transaction.
+ */
+@Service
+public class BookingExportService {
+
+    static final int FETCH_SIZE = 500;
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private static final Pattern PHONE = Pattern.compile("[+-]?[0-9 ()-]*");
+
+    private static final String[] COLUMNS = {"id", "bookingDate", "startTime", "endTime", "status", "bookingType",
+            "userName", "userPhone", "userEmail", "paymentMethod", "totalAmount"};
+
+    private static final String EXPORT_SQL = "SELECT b.id, b.booking_date, b.start_time, b.end_time, b.status, " +
+            "b.booking_type, b.payment_mode, b.total_amount, b.full_name, b.phone_number, b.email, " +
+            "u.first_name, u.last_name, u.phone, u.email AS user_email, p.payment_method " +
+            "FROM bookings b " +
+            "LEFT JOIN users u ON u.id = b.user_id " +
+            "LEFT JOIN payments p ON p.booking_id = b.id " +
+            "WHERE b.turf_id = ? AND b.booking_date >= ? AND b.booking_date <= ? " +
+            "ORDER BY b.booking_date, b.start_time, b.id";
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() { return contentType; }
+
+        public String getExtension() { return extension; }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Writes every booking of the turf between from and to (inclusive, either may be null) and returns the row count
+    public long export(Long turfId, LocalDate from, LocalDate to, Format format, OutputStream out) {
+        LocalDate first = from != null ? from : LocalDate.of(1, 1, 1);
+        LocalDate last = to != null ? to : LocalDate.of(9999, 12, 31);
+        if (first.isAfter(last)) {
+            throw new RuntimeException("'from' must not be after 'to'");
+        }
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        try {
+            RowWriter rows = format == Format.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer);
+            // Headers go out before the query runs so the client sees bytes straight away
+            rows.start();
+            writer.flush();
+
+            long[] count = {0};
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(EXPORT_SQL,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(FETCH_SIZE);
+                ps.setLong(1, turfId);
+                ps.setDate(2, Date.valueOf(first));
+                ps.setDate(3, Date.valueOf(last));
+                return ps;
+            }, rs -> {
+                try {
+                    rows.write(rs);
+                } catch (IOException e) {
+                    // Usually the client went away; abort the query rather than reading on
+                    throw new UncheckedIOException(e);
+                }
+                count[0]++;
+            }));
+
+            rows.finish();
+            writer.flush();
+            return count[0];
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private abstract static class RowWriter {
+
+        void start() throws IOException {}
+
+        abstract void write(ResultSet rs) throws IOException, SQLException;
+
+        void finish() throws IOException {}
+
+        // Same precedence as BookingDetailsDTO: the booking's contact details, then the user's
+        static String[] values(ResultSet rs) throws SQLException {
+            String userName = rs.getString("full_name");
+            String userPhone = rs.getString("phone_number");
+            String userEmail = rs.getString("email");
+            if (userName == null || userName.isEmpty()) {
+                userName = rs.getString("first_name") + " " + rs.getString("last_name");
+            }
+            if (userPhone == null || userPhone.isEmpty()) {
+                userPhone = rs.getString("phone");
+            }
+            if (userEmail == null || userEmail.isEmpty()) {
+                userEmail = rs.getString("user_email");
+            }
+            String paymentMethod = rs.getString("payment_method");
+            if (paymentMethod == null) {
+                paymentMethod = rs.getString("payment_mode");
+            }
+            BigDecimal amount = rs.getBigDecimal("total_amount");
+            return new String[]{
+                    String.valueOf(rs.getLong("id")),
+                    rs.getObject("booking_date", LocalDate.class).toString(),
+                    rs.getTime("start_time").toLocalTime().toString(),
+                    rs.getTime("end_time").toLocalTime().toString(),
+                    rs.getString("status"),
+                    rs.getString("booking_type"),
+                    userName,
+                    userPhone,
+                    userEmail,
+                    paymentMethod,
+                    amount != null ? amount.toPlainString() : null
+            };
+        }
+    }
+
+    private static final class CsvRowWriter extends RowWriter {
+
+        private final Writer writer;
+
+        CsvRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        void start() throws IOException {
+            writer.write(String.join(",", COLUMNS));
+            writer.write("\r\n");
+        }
+
+        @Override
+        void write(ResultSet rs) throws IOException, SQLException {
+            String[] values = values(rs);
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(escape(values[i]));
+            }
+            writer.write("\r\n");
+        }
+    }
+
+    // RFC 4180 quoting. Text starting with a formula character is prefixed so spreadsheets
+    // don't evaluate it; phone numbers like +91 98765 43210 are left alone
+    static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (!value.isEmpty() && "=+-@\t\r".indexOf(value.charAt(0)) >= 0 && !PHONE.matcher(value).matches()) {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+        return value;
+    }
+
+    private static final class NdjsonRowWriter extends RowWriter {
+
+        private final JsonGenerator generator;
+
+        NdjsonRowWriter(Writer writer) throws IOException {
+            // The generator must not close or flush the underlying stream on its own; lines
+            // are separated by the explicit newline rather than Jackson's root separator
+            this.generator = JSON.createGenerator(writer)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        void write(ResultSet rs) throws IOException, SQLException {
+            String[] values = values(rs);
+            generator.writeStartObject();
+            generator.writeNumberField(COLUMNS[0], Long.parseLong(values[0]));
+            for (int i = 1; i < values.length - 1; i++) {
+                generator.writeStringField(COLUMNS[i], values[i]);
+            }
+            int last = values.length - 1;
+            if (values[last] != null) {
+                generator.writeFieldName(COLUMNS[last]);
+                generator.writeNumber(values[last]);
+            } else {
+                generator.writeNullField(COLUMNS[last]);
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        void finish() throws IOException {
+            generator.flush();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.turfbooking.turf_booking_backend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Striped locks keyed by hash(turfId, bookingDate).
+ * Serializes the conflict check and insert for one turf-day while other
+ * turf-days proceed in parallel. ReentrantLock is used rather than
+ * synchronized so waiting virtual threads unmount instead of pinning their carrier.
+ */
+@Component
+public class BookingLockManager {
+
+    private final ReentrantLock[] stripes;
+    private final long timeoutMillis;
+
+    public BookingLockManager(@Value("${booking.lock.stripes:1024}") int stripeCount,
+                              @Value("${booking.lock.timeout-ms:5000}") long timeoutMillis) {
+        // Round up to a power of two so the stripe can be picked with a mask
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public <T> T withLock(Long turfId, LocalDate date, Supplier<T> action) {
+        ReentrantLock lock = stripeFor(turfId, date);
+        try {
+            if (!lock.tryLock(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new RuntimeException("Booking system is busy, please try again");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Booking was interrupted, please try again");
+        }
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    ReentrantLock stripeFor(Long turfId, LocalDate date) {
+        int h = 31 * Long.hashCode(turfId) + Long.hashCode(date.toEpochDay());
+        h ^= (h >>> 16);
+        return stripes[h & (stripes.length - 1)];
+    }
+}
@@ -0,0 +1,234 @@
+package com.turfbooking.turf_booking_backend.service;
+
+import com.turfbooking.turf_booking_backend.entity.Booking;
+import com.turfbooking.turf_booking_backend.entity.BookingDailyRollup;
+import com.turfbooking.turf_booking_backend.entity.BookingPaymentModeRollup;
+import com.turfbooking.turf_booking_backend.entity.UserBookingCounters;
+import com.turfbooking.turf_booking_backend.repository.BookingDailyRollupRepository;
+import com.turfbooking.turf_booking_backend.repository.BookingPaymentModeRollupRepository;
+import com.turfbooking.turf_booking_backend.repository.UserBookingCountersRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Maintains booking_daily_rollup, one row of counts and amounts per turf-day,
+ * booking_payment_mode_rollup, one row per turf-day and payment mode, and
+ * user_booking_counters, one row per booking user. Booking writes apply their delta
+ * inside the same transaction, so dashboards and stats read these rows instead of
+ * scanning bookings. rebuild() recomputes all three tables from bookings for backfill or repair.
+ */
+@Service
+public class BookingRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingRollupService.class);
+
+    // Also used by migration V4 for the initial backfill
+    static final String REBUILD_SQL = "INSERT INTO booking_daily_rollup (turf_id, booking_date, booking_count, total_amount, " +
+            "pending_count, pending_amount, confirmed_count, confirmed_amount, " +
+            "cancelled_count, cancelled_amount, completed_count, completed_amount, " +
+            "online_count, online_amount, offline_count, offline_amount, updated_at) " +
+            "SELECT turf_id, booking_date, COUNT(*), COALESCE(SUM(total_amount), 0), " +
+            "COUNT(CASE WHEN status = 'PENDING' THEN 1 END), " +
+            "COALESCE(SUM(CASE WHEN status = 'PENDING' THEN total_amount END), 0), " +
+            "COUNT(CASE WHEN status = 'CONFIRMED' THEN 1 END), " +
+            "COALESCE(SUM(CASE WHEN status = 'CONFIRMED' THEN total_amount END), 0), " +
+            "COUNT(CASE WHEN status = 'CANCELLED' THEN 1 END), " +
+            "COALESCE(SUM(CASE WHEN status = 'CANCELLED' THEN total_amount END), 0), " +
+            "COUNT(CASE WHEN status = 'COMPLETED' THEN 1 END), " +
+            "COALESCE(SUM(CASE WHEN status = 'COMPLETED' THEN total_amount END), 0), " +
+            "COUNT(CASE WHEN (booking_type IS NULL OR booking_type <> 'OFFLINE') THEN 1 END), " +
+            "COALESCE(SUM(CASE WHEN (booking_type IS NULL OR booking_type <> 'OFFLINE') THEN total_amount END), 0), " +
+            "COUNT(CASE WHEN booking_type = 'OFFLINE' THEN 1 END), " +
+            "COALESCE(SUM(CASE WHEN booking_type = 'OFFLINE' THEN total_amount END), 0), " +
+            "CURRENT_TIMESTAMP " +
+            "FROM bookings GROUP BY turf_id, booking_date";
+
+    // Also used by migration V5 for the initial backfill
+    static final String REBUILD_USER_COUNTERS_SQL = "INSERT INTO user_booking_counters (user_id, booking_count, total_spent, " +
+            "pending_count, confirmed_count, cancelled_count, completed_count, updated_at) " +
+            "SELECT user_id, COUNT(*), COALESCE(SUM(total_amount), 0), " +
+            "COUNT(CASE WHEN status = 'PENDING' THEN 1 END), " +
+            "COUNT(CASE WHEN status = 'CONFIRMED' THEN 1 END), " +
+            "COUNT(CASE WHEN status = 'CANCELLED' THEN 1 END), " +
+            "COUNT(CASE WHEN status = 'COMPLETED' THEN 1 END), " +
+            "CURRENT_TIMESTAMP " +
+            "FROM bookings GROUP BY user_id";
+
+    // Also used by migration V10 for the initial backfill
+    static final String REBUILD_PAYMENT_MODE_SQL = "INSERT INTO booking_payment_mode_rollup (turf_id, booking_date, " +
+            "payment_mode, booking_count, total_amount, updated_at) " +
+            "SELECT turf_id, booking_date, COALESCE(NULLIF(TRIM(payment_mode), ''), 'UNKNOWN'), COUNT(*), " +
+            "COALESCE(SUM(total_amount), 0), CURRENT_TIMESTAMP " +
+            "FROM bookings GROUP BY turf_id, booking_date, COALESCE(NULLIF(TRIM(payment_mode), ''), 'UNKNOWN')";
+
+    @Autowired
+    private BookingDailyRollupRepository rollupRepository;
+
+    @Autowired
+    private BookingPaymentModeRollupRepository paymentModeRepository;
+
+    @Autowired
+    private UserBookingCountersRepository countersRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OwnerDashboardService ownerDashboardService;
+
+    @Autowired
+    private BookingTimeSeriesService bookingTimeSeriesService;
+
+    @Autowired
+    private OccupancyHeatmapService occupancyHeatmapService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private TransactionTemplate newRowTemplate;
+
+    @Autowired
+    void setTransactionManager(PlatformTransactionManager transactionManager) {
+        newRowTemplate = new TransactionTemplate(transactionManager);
+        newRowTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(Collection<Booking> bookings) {
+        apply(bookings, 1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeleted(Booking booking) {
+        apply(List.of(booking), -1);
+    }
+
+    // Moves a booking's contribution from its previous status to its current one
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordStatusChange(Booking booking, Booking.BookingStatus previousStatus) {
+        if (previousStatus == booking.getStatus()) {
+            return;
+        }
+        BookingDailyRollup rollup = lockRow(booking.getTurf().getId(), booking.getBookingDate());
+        rollup.add(previousStatus, booking.getBookingType(), booking.getTotalAmount(), -1);
+        rollup.add(booking.getStatus(), booking.getBookingType(), booking.getTotalAmount(), 1);
+        if (booking.getUser() != null) {
+            lockCounters(booking.getUser().getId()).changeStatus(previousStatus, booking.getStatus());
+        }
+    }
+
+    public BookingDailyRollupRepository.RollupTotals getTotals() {
+        return rollupRepository.sumAll();
+    }
+
+    public List<BookingPaymentModeRollupRepository.PaymentModeTotals> getPaymentModeTotals() {
+        return paymentModeRepository.sumByPaymentMode();
+    }
+
+    public BookingDailyRollupRepository.RollupTotals getOwnerTotals(Long ownerId) {
+        return rollupRepository.sumByOwner(ownerId);
+    }
+
+    // Users without bookings have no row yet
+    public UserBookingCounters getUserCounters(Long userId) {
+        return countersRepository.findById(userId).orElseGet(() -> new UserBookingCounters(userId));
+    }
+
+    // Recomputes every row from bookings; returns the number of turf-days written
+    public int rebuild() {
+        Integer rows = transactionTemplate.execute(status -> {
+            jdbcTemplate.update("DELETE FROM booking_daily_rollup");
+            jdbcTemplate.update("DELETE FROM booking_payment_mode_rollup");
+            jdbcTemplate.update("DELETE FROM user_booking_counters");
+            jdbcTemplate.update(REBUILD_PAYMENT_MODE_SQL);
+            jdbcTemplate.update(REBUILD_USER_COUNTERS_SQL);
+            return jdbcTemplate.update(REBUILD_SQL);
+        });
+        // Everything cached from the old rows is stale now
+        ownerDashboardService.evictAll();
+        bookingTimeSeriesService.evictAll();
+        occupancyHeatmapService.rebuild();
+        log.info("Rebuilt booking_daily_rollup: {} turf-days", rows);
+        return rows != null ? rows : 0;
+    }
+
+    // Off unless booking.rollup.rebuild-cron is set
+    @Scheduled(cron = "${booking.rollup.rebuild-cron:-}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    // Day rows are always locked before payment mode rows, and those before user rows, so
+    // concurrent writers take locks in the same order. A booking's payment mode never changes,
+    // so only creates and deletes move the payment mode rows
+    private void apply(Collection<Booking> bookings, int sign) {
+        Map<BookingDailyRollup.Key, BookingDailyRollup> rows = new LinkedHashMap<>();
+        for (Booking booking : bookings) {
+            Long turfId = booking.getTurf().getId();
+            BookingDailyRollup rollup = rows.computeIfAbsent(new BookingDailyRollup.Key(turfId, booking.getBookingDate()),
+                    key -> lockRow(turfId, booking.getBookingDate()));
+            rollup.add(booking.getStatus(), booking.getBookingType(), booking.getTotalAmount(), sign);
+        }
+        Map<BookingPaymentModeRollup.Key, BookingPaymentModeRollup> modes = new LinkedHashMap<>();
+        for (Booking booking : bookings) {
+            Long turfId = booking.getTurf().getId();
+            String mode = BookingPaymentModeRollup.modeOf(booking);
+            modes.computeIfAbsent(new BookingPaymentModeRollup.Key(turfId, booking.getBookingDate(), mode),
+                    key -> lockPaymentModeRow(turfId, booking.getBookingDate(), mode))
+                    .add(booking.getTotalAmount(), sign);
+        }
+        Map<Long, UserBookingCounters> counters = new LinkedHashMap<>();
+        for (Booking booking : bookings) {
+            if (booking.getUser() != null) {
+                counters.computeIfAbsent(booking.getUser().getId(), this::lockCounters)
+                        .add(booking.getStatus(), booking.getTotalAmount(), sign);
+            }
+        }
+    }
+
+    private BookingDailyRollup lockRow(Long turfId, LocalDate date) {
+        return lockOrCreate(() -> rollupRepository.findForUpdate(turfId, date),
+                () -> rollupRepository.saveAndFlush(new BookingDailyRollup(turfId, date)));
+    }
+
+    private BookingPaymentModeRollup lockPaymentModeRow(Long turfId, LocalDate date, String mode) {
+        return lockOrCreate(() -> paymentModeRepository.findForUpdate(turfId, date, mode),
+                () -> paymentModeRepository.saveAndFlush(new BookingPaymentModeRollup(turfId, date, mode)));
+    }
+
+    private UserBookingCounters lockCounters(Long userId) {
+        return lockOrCreate(() -> countersRepository.findForUpdate(userId),
+                () -> countersRepository.saveAndFlush(new UserBookingCounters(userId)));
+    }
+
+    private <T> T lockOrCreate(Supplier<Optional<T>> lock, Runnable create) {
+        return lock.get().orElseGet(() -> {
+            // The first write creates the row in its own transaction, so two writers
+            // racing on it both end up locking the same committed row
+            try {
+                newRowTemplate.executeWithoutResult(status -> create.run());
+            } catch (DataIntegrityViolationException e) {
+                // Created concurrently
+            }
+            return lock.get().orElseThrow(() -> new RuntimeException("Booking rollup row could not be created"));
+        });
+    }
+}
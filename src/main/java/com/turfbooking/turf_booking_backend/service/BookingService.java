@@ -1,25 +1,51 @@
 package com.turfbooking.turf_booking_backend.service;
 
+import com.turfbooking.turf_booking_backend.config.BookingSchemaInspector;
+import com.turfbooking.turf_booking_backend.dto.AvailabilityCalendarDTO;
+import com.turfbooking.turf_booking_backend.dto.AvailabilityChangesDTO;
+import com.turfbooking.turf_booking_backend.dto.BookingViewDTO;
 import com.turfbooking.turf_booking_backend.entity.Booking;
 import com.turfbooking.turf_booking_backend.entity.Turf;
 import com.turfbooking.turf_booking_backend.entity.User;
+import com.turfbooking.turf_booking_backend.entity.UserBookingCounters;
+import com.turfbooking.turf_booking_backend.repository.BookingDailyRollupRepository;
+import com.turfbooking.turf_booking_backend.repository.BookingPaymentModeRollupRepository;
 import com.turfbooking.turf_booking_backend.repository.BookingRepository;
 import com.turfbooking.turf_booking_backend.repository.TurfRepository;
 import com.turfbooking.turf_booking_backend.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
-import java.time.Duration;
+import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 @Service
 public class BookingService {
 
+    private static final int MAX_CALENDAR_DAYS = 31;
+
+    // PostgreSQL SQLSTATE raised by the bookings slot exclusion constraint
+    private static final String EXCLUSION_VIOLATION = "23P01";
+
     @Autowired
     private BookingRepository bookingRepository;
 
@@ -29,6 +55,39 @@ public class BookingService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private BookingAvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private BookingLockManager bookingLockManager;
+
+    @Autowired
+    private SlotHoldService slotHoldService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private BookingSchemaInspector schemaInspector;
+
+    @Autowired
+    private AvailabilityBroadcaster availabilityBroadcaster;
+
+    @Autowired
+    private SlotCalculator slotCalculator;
+
+    @Autowired
+    private BookingRollupService bookingRollupService;
+
+    @Autowired
+    private OwnerDashboardService ownerDashboardService;
+
+    @Autowired
+    private BookingTimeSeriesService bookingTimeSeriesService;
+
+    @Autowired
+    private OccupancyHeatmapService occupancyHeatmapService;
+
     public Booking createBooking(Long userId, Long turfId, LocalDate bookingDate, LocalTime startTime, LocalTime endTime,
                                  String fullName, String phoneNumber, String email, String paymentMode) {
         User user = userRepository.findById(userId)
@@ -41,32 +100,13 @@ public class BookingService {
             throw new RuntimeException("Turf is not available for booking");
         }
 
-        LocalDate today = LocalDate.now();
-        if (bookingDate.isBefore(today)) {
-            throw new RuntimeException("Booking date cannot be in the past");
-        }
-
-        boolean isLateNightSlot = startTime.getHour() >= 0 && startTime.getHour() < 3;
-
-        if (bookingDate.equals(today) &&
-                ((!isLateNightSlot && startTime.isBefore(LocalTime.now())) ||
-                        (isLateNightSlot && startTime.isBefore(LocalTime.now()) && LocalTime.now().getHour() < 3))) {
-            throw new RuntimeException("You cannot book past time slots. Please select an upcoming time slot.");
-        }
+        SlotCalculator.SlotPlan plan = slotCalculator.plan(bookingDate, startTime, endTime);
 
-        List<Booking> conflictingBookings = bookingRepository.findConflictingBookings(
-                turfId, bookingDate, startTime, endTime);
-
-        if (!conflictingBookings.isEmpty()) {
+        if (slotHoldService.isHeldByOther(turfId, bookingDate, startTime, endTime, userId)) {
             throw new RuntimeException("Time slot is not available");
         }
 
-        Duration duration = Duration.between(startTime, endTime);
-        long hours = duration.toHours();
-        if (duration.toMinutesPart() > 0) {
-            hours++;
-        }
-        BigDecimal totalAmount = turf.getPricePerHour().multiply(BigDecimal.valueOf(hours));
+        BigDecimal totalAmount = plan.totalPrice(turf.getPricePerHour());
 
         Booking booking = new Booking(user, turf, bookingDate, startTime, endTime);
         booking.setTotalAmount(totalAmount);
@@ -76,7 +116,10 @@ public class BookingService {
         booking.setEmail(email);
         booking.setPaymentMode(paymentMode);
 
-        return bookingRepository.save(booking);
+        Booking saved = saveIfSlotFree(booking, "Time slot is not available");
+        availabilityIndex.record(saved);
+        bookingChanged(saved, null, saved.getStatus());
+        return saved;
     }
 
     public Optional<Booking> findById(Long id) {
@@ -87,6 +130,22 @@ public class BookingService {
         return bookingRepository.findByUserId(userId);
     }
 
+    public Optional<BookingViewDTO> findViewById(Long id) {
+        return bookingRepository.findViewById(id);
+    }
+
+    public List<BookingViewDTO> findViewsByUserEmail(String email) {
+        return bookingRepository.findViewsByUserEmail(email);
+    }
+
+    public List<BookingViewDTO> findViewsByUserEmailBetweenDates(String email, LocalDate startDate, LocalDate endDate) {
+        return bookingRepository.findViewsByUserEmailBetweenDates(email, startDate, endDate);
+    }
+
+    public List<BookingViewDTO> findViewsByStatus(Booking.BookingStatus status) {
+        return bookingRepository.findViewsByStatus(status);
+    }
+
     public List<Booking> findBookingsByTurf(Long turfId) {
         return bookingRepository.findByTurfId(turfId);
     }
@@ -100,20 +159,14 @@ public class BookingService {
             throw new RuntimeException("You can only create offline bookings for your own turfs");
         }
 
-        List<Booking> conflictingBookings = bookingRepository.findConflictingBookings(
-                turfId, bookingDate, startTime, endTime);
-
-        if (!conflictingBookings.isEmpty()) {
+        if (slotHoldService.isHeldByOther(turfId, bookingDate, startTime, endTime, ownerId)) {
             throw new RuntimeException("Time slot is already booked");
         }
 
+        // Also rejects an end time that isn't after the start
+        BigDecimal price = slotCalculator.price(startTime, endTime, turf.getPricePerHour());
         if (amount == null) {
-            Duration duration = Duration.between(startTime, endTime);
-            long hours = duration.toHours();
-            if (duration.toMinutesPart() > 0) {
-                hours++;
-            }
-            amount = turf.getPricePerHour().multiply(BigDecimal.valueOf(hours));
+            amount = price;
         }
 
         User owner = userRepository.findById(ownerId)
@@ -128,22 +181,31 @@ public class BookingService {
         booking.setEmail("N/A");
         booking.setPaymentMode("CASH");
 
-        return bookingRepository.save(booking);
+        Booking saved = saveIfSlotFree(booking, "Time slot is already booked");
+        availabilityIndex.record(saved);
+        bookingChanged(saved, null, saved.getStatus());
+        return saved;
     }
 
     public void deleteOfflineBooking(Long bookingId, Long ownerId) {
-        Booking booking = bookingRepository.findById(bookingId)
-                .orElseThrow(() -> new RuntimeException("Booking not found"));
+        Booking booking = transactionTemplate.execute(status -> {
+            Booking existing = bookingRepository.findForUpdate(bookingId)
+                    .orElseThrow(() -> new RuntimeException("Booking not found"));
 
-        if (booking.getBookingType() != Booking.BookingType.OFFLINE) {
-            throw new RuntimeException("Only offline bookings can be deleted with this method");
-        }
+            if (existing.getBookingType() != Booking.BookingType.OFFLINE) {
+                throw new RuntimeException("Only offline bookings can be deleted with this method");
+            }
 
-        if (!booking.getTurf().getOwner().getId().equals(ownerId)) {
-            throw new RuntimeException("You can only delete offline bookings for your own turfs");
-        }
+            if (!existing.getTurf().getOwner().getId().equals(ownerId)) {
+                throw new RuntimeException("You can only delete offline bookings for your own turfs");
+            }
 
-        bookingRepository.delete(booking);
+            bookingRepository.delete(existing);
+            bookingRollupService.recordDeleted(existing);
+            return existing;
+        });
+        availabilityIndex.remove(booking);
+        bookingChanged(booking, booking.getStatus(), null);
     }
     
     public List<Booking> getOfflineBookingsByTurf(Long turfId, Long ownerId) {
@@ -170,10 +232,52 @@ public class BookingService {
     }
 
     public Booking updateBookingStatus(Long id, Booking.BookingStatus status) {
-        Booking booking = bookingRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Booking not found"));
-        booking.setStatus(status);
-        return bookingRepository.save(booking);
+        return changeStatus(id, status, booking -> {});
+    }
+
+    // The row stays locked until commit, so the previous status the rollup sees can't go stale.
+    // A booking moving back into an active status claims its slot again, so it gets the same
+    // conflict check as an insert
+    private Booking changeStatus(Long id, Booking.BookingStatus status, Consumer<Booking> check) {
+        AtomicReference<Booking.BookingStatus> previousStatus = new AtomicReference<>();
+        boolean exclusionEnforced = schemaInspector.isSlotExclusionEnforced();
+        Supplier<Booking> change = () -> transactionTemplate.execute(tx -> {
+            Booking booking = bookingRepository.findForUpdate(id)
+                    .orElseThrow(() -> new RuntimeException("Booking not found"));
+            check.accept(booking);
+            previousStatus.set(booking.getStatus());
+            boolean reclaimsSlot = !BookingAvailabilityIndex.isBlocking(booking);
+            // Checked before the status changes, while the booking itself can't match
+            if (reclaimsSlot && !exclusionEnforced && !bookingRepository.findConflictingBookings(
+                    booking.getTurf().getId(), booking.getBookingDate(), booking.getStartTime(), booking.getEndTime()).isEmpty()) {
+                throw new RuntimeException("Time slot is no longer available");
+            }
+            booking.setStatus(status);
+            reclaimsSlot &= BookingAvailabilityIndex.isBlocking(booking);
+            // Flushed right away so an exclusion violation surfaces here rather than at commit
+            Booking updated = reclaimsSlot ? bookingRepository.saveAndFlush(booking) : bookingRepository.save(booking);
+            bookingRollupService.recordStatusChange(updated, previousStatus.get());
+            return updated;
+        });
+
+        Booking saved;
+        if (status != Booking.BookingStatus.PENDING && status != Booking.BookingStatus.CONFIRMED) {
+            saved = change.get();
+        } else if (exclusionEnforced) {
+            try {
+                saved = change.get();
+            } catch (DataIntegrityViolationException e) {
+                throw slotTaken(e, "Time slot is no longer available");
+            }
+        } else {
+            // Turf and date never change, so they can be read before the row is locked
+            Booking current = bookingRepository.findById(id)
+                    .orElseThrow(() -> new RuntimeException("Booking not found"));
+            saved = bookingLockManager.withLock(current.getTurf().getId(), current.getBookingDate(), change);
+        }
+        availabilityIndex.record(saved);
+        bookingChanged(saved, previousStatus.get(), saved.getStatus());
+        return saved;
     }
 
     public Booking confirmBooking(Long id) {
@@ -181,41 +285,163 @@ public class BookingService {
     }
 
     public Booking cancelBooking(Long id) {
-        Booking booking = bookingRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Booking not found"));
-        if (booking.getStatus() == Booking.BookingStatus.COMPLETED) {
-            throw new RuntimeException("Cannot cancel completed booking");
-        }
-        return updateBookingStatus(id, Booking.BookingStatus.CANCELLED);
+        return changeStatus(id, Booking.BookingStatus.CANCELLED, booking -> {
+            if (booking.getStatus() == Booking.BookingStatus.COMPLETED) {
+                throw new RuntimeException("Cannot cancel completed booking");
+            }
+        });
     }
 
     public void deleteBooking(Long id) {
-        if (!bookingRepository.existsById(id)) {
-            throw new RuntimeException("Booking not found");
-        }
-        bookingRepository.deleteById(id);
+        Booking booking = transactionTemplate.execute(status -> {
+            Booking existing = bookingRepository.findForUpdate(id)
+                    .orElseThrow(() -> new RuntimeException("Booking not found"));
+            bookingRepository.delete(existing);
+            bookingRollupService.recordDeleted(existing);
+            return existing;
+        });
+        availabilityIndex.remove(booking);
+        bookingChanged(booking, booking.getStatus(), null);
     }
 
+    // Served from the in-memory availability index plus live holds; write paths still check the database
     public boolean isTimeSlotAvailable(Long turfId, LocalDate date, LocalTime startTime, LocalTime endTime) {
-        List<Booking> conflictingBookings = bookingRepository.findConflictingBookings(turfId, date, startTime, endTime);
-        return conflictingBookings.isEmpty();
+        return availabilityIndex.isAvailable(turfId, date, startTime, endTime)
+                && !slotHoldService.isHeldByOther(turfId, date, startTime, endTime, null);
     }
 
     public List<LocalTime> getBookedStartTimes(Long turfId, LocalDate date) {
-        List<Booking> bookings = bookingRepository.findByTurfId(turfId);
-        List<LocalTime> booked = new ArrayList<>();
-        for (Booking b : bookings) {
-            if (b.getBookingDate() != null && b.getBookingDate().equals(date)
-                    && (b.getStatus() == Booking.BookingStatus.PENDING || b.getStatus() == Booking.BookingStatus.CONFIRMED)) {
-                booked.add(b.getStartTime());
+        List<LocalTime> held = slotHoldService.getHeldStartTimes(turfId, date);
+        List<LocalTime> booked = availabilityIndex.getBookedStartTimes(turfId, date);
+        if (held.isEmpty()) {
+            return booked;
+        }
+        TreeSet<LocalTime> merged = new TreeSet<>(booked);
+        merged.addAll(held);
+        return new ArrayList<>(merged);
+    }
+
+    // Active turfs matching the location that are free for the whole slot, answered from the availability index
+    public List<Turf> findAvailableTurfs(String location, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        if (date.isBefore(LocalDate.now())) {
+            throw new RuntimeException("Date cannot be in the past");
+        }
+        // Public endpoint: keep what anonymous searches can pull into the availability index bounded
+        if (date.isAfter(LocalDate.now().plusDays(MAX_CALENDAR_DAYS))) {
+            throw new RuntimeException("Date cannot be more than " + MAX_CALENDAR_DAYS + " days ahead");
+        }
+        List<Turf> candidates = turfRepository.findByIsActiveTrueAndLocationContainingIgnoreCase(
+                location == null ? "" : location.trim());
+        if (candidates.isEmpty()) {
+            return candidates;
+        }
+        List<Long> free = availabilityIndex.findAvailableTurfs(
+                candidates.stream().map(Turf::getId).toList(), date, startTime, endTime);
+        Set<Long> freeIds = new HashSet<>(free);
+        List<Turf> available = new ArrayList<>(freeIds.size());
+        for (Turf turf : candidates) {
+            if (freeIds.contains(turf.getId())
+                    && !slotHoldService.isHeldByOther(turf.getId(), date, startTime, endTime, null)) {
+                available.add(turf);
             }
         }
-        return booked;
+        return available;
+    }
+
+    // Empty when nothing changed since sinceVersion; a reset carries the full booked start times instead of deltas
+    public Optional<AvailabilityChangesDTO> getAvailabilityChanges(Long turfId, LocalDate date, long sinceVersion) {
+        AvailabilityBroadcaster.Delta delta = availabilityBroadcaster.changesSince(turfId, date, sinceVersion);
+        if (delta.isUnchanged()) {
+            return Optional.empty();
+        }
+        if (delta.changes() == null) {
+            return Optional.of(new AvailabilityChangesDTO(turfId, date, delta.version(), true,
+                    List.of(), getBookedStartTimes(turfId, date)));
+        }
+        return Optional.of(new AvailabilityChangesDTO(turfId, date, delta.version(), false, delta.changes(), null));
+    }
+
+    public AvailabilityCalendarDTO getAvailabilityCalendar(Long turfId, LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new RuntimeException("End date must not be before start date");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_CALENDAR_DAYS) {
+            throw new RuntimeException("Date range cannot exceed " + MAX_CALENDAR_DAYS + " days");
+        }
+
+        Map<LocalDate, Integer> bookedHours = new LinkedHashMap<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            bookedHours.put(day, 0);
+        }
+
+        // One query for the whole range, folded into an hour mask per day
+        for (BookingRepository.BookedDaySlot slot :
+                bookingRepository.findActiveSlotsByTurfAndDateRange(turfId, from, to)) {
+            bookedHours.merge(slot.getBookingDate(), hourMask(slot.getStartTime(), slot.getEndTime()), (a, b) -> a | b);
+        }
+        for (Map.Entry<LocalDate, Integer> day : bookedHours.entrySet()) {
+            for (LocalTime held : slotHoldService.getHeldStartTimes(turfId, day.getKey())) {
+                day.setValue(day.getValue() | hourMask(held, held.plusHours(1)));
+            }
+        }
+
+        return new AvailabilityCalendarDTO(turfId, from, to, bookedHours);
+    }
+
+    private static int hourMask(LocalTime startTime, LocalTime endTime) {
+        int start = BookingAvailabilityIndex.toMinute(startTime);
+        int end = BookingAvailabilityIndex.toEndMinute(start, endTime);
+        int mask = 0;
+        for (int hour = start / 60; hour <= (end - 1) / 60; hour++) {
+            mask |= 1 << hour;
+        }
+        return mask;
+    }
+
+    public SlotHoldService.SlotHold holdSlots(Long userId, Long turfId, LocalDate date, List<LocalTime> slotStarts) {
+        return slotHoldService.hold(userId, turfId, date, slotStarts);
+    }
+
+    public Optional<SlotHoldService.SlotHold> findHold(String holdId, Long userId) {
+        return slotHoldService.findLiveHold(holdId, userId);
+    }
+
+    // Turns a live hold into bookings; the user's own hold doesn't block them
+    public List<Booking> confirmHold(String holdId, Long userId, String paymentMode,
+                                     String fullName, String phoneNumber, String email) {
+        SlotHoldService.SlotHold hold = slotHoldService.findLiveHold(holdId, userId)
+                .orElseThrow(() -> new RuntimeException("Hold not found or expired"));
+        List<Booking> created = createMultipleBookings(userId, hold.getTurfId(), hold.getBookingDate(),
+                hold.getSlotStarts(), paymentMode, fullName, phoneNumber, email);
+        slotHoldService.release(holdId, userId);
+        return created;
+    }
+
+    public void releaseHold(String holdId, Long userId) {
+        slotHoldService.release(holdId, userId);
     }
 
     public List<Booking> createMultipleBookings(Long userId, Long turfId, LocalDate date,
                                                 List<LocalTime> slotStarts, String paymentMode,
                                                 String fullName, String phoneNumber, String email) {
+        if (schemaInspector.isSlotExclusionEnforced()) {
+            try {
+                return transactionTemplate.execute(status -> doCreateMultipleBookings(userId, turfId, date,
+                        slotStarts, paymentMode, fullName, phoneNumber, email, false));
+            } catch (DataIntegrityViolationException e) {
+                throw slotTaken(e, "One or more selected slots are no longer available");
+            }
+        }
+        // The lock is held across the commit so a concurrent request can't slip in between
+        return bookingLockManager.withLock(turfId, date, () -> transactionTemplate.execute(status ->
+                doCreateMultipleBookings(userId, turfId, date, slotStarts, paymentMode, fullName, phoneNumber,
+                        email, true)));
+    }
+
+    private List<Booking> doCreateMultipleBookings(Long userId, Long turfId, LocalDate date,
+                                                   List<LocalTime> slotStarts, String paymentMode,
+                                                   String fullName, String phoneNumber, String email,
+                                                   boolean checkHeldSlots) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
         Turf turf = turfRepository.findById(turfId)
@@ -225,53 +451,196 @@ public class BookingService {
             throw new RuntimeException("Turf is not available for booking");
         }
 
-        List<Booking> created = new ArrayList<>();
-        LocalDate today = LocalDate.now();
-        if (date.isBefore(today)) {
-            throw new RuntimeException("Booking date cannot be in the past");
-        }
+        SlotCalculator.SlotPlan plan = slotCalculator.planHourly(date, slotStarts);
 
-        for (LocalTime start : slotStarts) {
-            LocalTime end = start.plusHours(1);
+        // Without the exclusion constraint, one query loads everything already held that day;
+        // requested slots are checked against it and each other in memory
+        List<int[]> held = new ArrayList<>();
+        if (checkHeldSlots) {
+            for (BookingRepository.BookedSlot slot : bookingRepository.findActiveSlotsByTurfAndDate(turfId, date)) {
+                int start = BookingAvailabilityIndex.toMinute(slot.getStartTime());
+                held.add(new int[]{start, BookingAvailabilityIndex.toEndMinute(start, slot.getEndTime())});
+            }
+        }
 
-            boolean isLateNightSlot = start.getHour() >= 0 && start.getHour() < 3;
+        List<Booking> bookings = new ArrayList<>(plan.size());
+        for (int i = 0; i < plan.size(); i++) {
+            LocalTime start = slotStarts.get(i);
+            LocalTime end = plan.endTime(i);
 
-            if (date.equals(today) &&
-                    ((!isLateNightSlot && start.isBefore(LocalTime.now())) ||
-                            (isLateNightSlot && start.isBefore(LocalTime.now()) && LocalTime.now().getHour() < 3))) {
-                throw new RuntimeException("You cannot book past time slots. Please select an upcoming time slot.");
+            if (slotHoldService.isHeldByOther(turfId, date, start, end, userId)) {
+                throw new RuntimeException("One or more selected slots are no longer available");
             }
 
-            if (!isTimeSlotAvailable(turfId, date, start, end)) {
-                throw new RuntimeException("One or more selected slots are no longer available");
+            int startMinute = plan.startMinute(i);
+            int endMinute = plan.endMinute(i);
+            for (int[] interval : held) {
+                if (interval[0] < endMinute && interval[1] > startMinute) {
+                    throw new RuntimeException("One or more selected slots are no longer available");
+                }
             }
+            held.add(new int[]{startMinute, endMinute});
 
             Booking booking = new Booking(user, turf, date, start, end);
-            booking.setTotalAmount(turf.getPricePerHour());
+            booking.setTotalAmount(plan.price(i, turf.getPricePerHour()));
             booking.setStatus(Booking.BookingStatus.CONFIRMED);
             booking.setFullName(fullName);
             booking.setPhoneNumber(phoneNumber);
             booking.setEmail(email);
             booking.setPaymentMode(paymentMode);
-
-            created.add(bookingRepository.save(booking));
+            bookings.add(booking);
         }
 
+        List<Booking> created = bookingRepository.saveAll(bookings);
+        bookingRepository.flush();
+        bookingRollupService.recordCreated(created);
+        afterCommit(() -> created.forEach(saved -> {
+            availabilityIndex.record(saved);
+            bookingChanged(saved, null, saved.getStatus());
+        }));
         return created;
     }
 
+    // With the exclusion constraint in place the insert itself is the conflict check;
+    // otherwise fall back to a check-then-insert serialized per turf-day.
+    // The daily rollup is updated in the same transaction as the insert
+    private Booking saveIfSlotFree(Booking booking, String takenMessage) {
+        Long turfId = booking.getTurf().getId();
+        if (schemaInspector.isSlotExclusionEnforced()) {
+            try {
+                return transactionTemplate.execute(status -> {
+                    Booking saved = bookingRepository.saveAndFlush(booking);
+                    bookingRollupService.recordCreated(List.of(saved));
+                    return saved;
+                });
+            } catch (DataIntegrityViolationException e) {
+                throw slotTaken(e, takenMessage);
+            }
+        }
+        return bookingLockManager.withLock(turfId, booking.getBookingDate(), () -> transactionTemplate.execute(status -> {
+            if (!bookingRepository.findConflictingBookings(turfId, booking.getBookingDate(),
+                    booking.getStartTime(), booking.getEndTime()).isEmpty()) {
+                throw new RuntimeException(takenMessage);
+            }
+            Booking saved = bookingRepository.save(booking);
+            bookingRollupService.recordCreated(List.of(saved));
+            return saved;
+        }));
+    }
+
+    private RuntimeException slotTaken(DataIntegrityViolationException e, String takenMessage) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && EXCLUSION_VIOLATION.equals(sqlException.getSQLState())) {
+                return new RuntimeException(takenMessage);
+            }
+        }
+        return e;
+    }
+
+    // Post-commit notifications for a booking moving between statuses; null stands for
+    // not existing, before a create or after a delete
+    private void bookingChanged(Booking booking, Booking.BookingStatus from, Booking.BookingStatus to) {
+        publishSlotChanges(booking);
+        occupancyHeatmapService.recordTransition(booking, from, to);
+        if (booking.getTurf() != null) {
+            ownerDashboardService.evictTurf(booking.getTurf().getId());
+            if (booking.getBookingDate() != null) {
+                bookingTimeSeriesService.evict(booking.getTurf().getId(), booking.getBookingDate());
+            }
+        }
+    }
+
+    // Pushes the current state of every hourly slot the booking covers to availability subscribers
+    private void publishSlotChanges(Booking booking) {
+        if (booking.getTurf() == null || booking.getBookingDate() == null) {
+            return;
+        }
+        Long turfId = booking.getTurf().getId();
+        LocalDate date = booking.getBookingDate();
+        if (!availabilityBroadcaster.isObserved(turfId, date)) {
+            return;
+        }
+        availabilityBroadcaster.publish(turfId, date,
+                AvailabilityBroadcaster.slotStarts(booking.getStartTime(), booking.getEndTime()),
+                start -> !isTimeSlotAvailable(turfId, date, start, start.plusHours(1)));
+    }
+
+    // Defer in-memory side effects until the surrounding transaction commits
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
     // ======= DASHBOARD STATS METHODS =======
 
     public long getTotalBookings() {
         return bookingRepository.count();
     }
 
-    public double getTotalRevenue() {
-        List<Booking> bookings = bookingRepository.findAll();
-        return bookings.stream()
-                .filter(b -> b.getTotalAmount() != null)
-                .mapToDouble(b -> b.getTotalAmount().doubleValue())
-                .sum();
+    public BigDecimal getTotalRevenue() {
+        BigDecimal revenue = bookingRollupService.getTotals().getTotalAmount();
+        return revenue != null ? revenue : BigDecimal.ZERO;
+    }
+
+    // Totals by status and booking type come from the daily rollup, the payment mode
+    // breakdown from the per-mode rollup, so neither scans bookings
+    public Map<String, Object> getBookingStats() {
+        Map<String, Object> stats = rollupStats(bookingRollupService.getTotals());
+
+        Map<String, StatsBucket> byPaymentMode = new TreeMap<>();
+        for (BookingPaymentModeRollupRepository.PaymentModeTotals row : bookingRollupService.getPaymentModeTotals()) {
+            byPaymentMode.put(row.getPaymentMode(), bucket(row.getBookingCount(), row.getTotalAmount()));
+        }
+        stats.put("byPaymentMode", byPaymentMode);
+        return stats;
+    }
+
+    // A single-row read of the counters maintained on every booking write
+    public Map<String, Object> getUserStats(Long userId) {
+        UserBookingCounters counters = bookingRollupService.getUserCounters(userId);
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("totalBookings", counters.getBookingCount());
+        stats.put("totalSpent", counters.getTotalSpent());
+        stats.put("pendingBookings", counters.getPendingCount());
+        stats.put("confirmedBookings", counters.getConfirmedCount());
+        stats.put("cancelledBookings", counters.getCancelledCount());
+        stats.put("completedBookings", counters.getCompletedCount());
+        return stats;
+    }
+
+    private static Map<String, Object> rollupStats(BookingDailyRollupRepository.RollupTotals totals) {
+        Map<String, StatsBucket> byStatus = new TreeMap<>();
+        byStatus.put(Booking.BookingStatus.PENDING.name(), bucket(totals.getPendingCount(), totals.getPendingAmount()));
+        byStatus.put(Booking.BookingStatus.CONFIRMED.name(), bucket(totals.getConfirmedCount(), totals.getConfirmedAmount()));
+        byStatus.put(Booking.BookingStatus.CANCELLED.name(), bucket(totals.getCancelledCount(), totals.getCancelledAmount()));
+        byStatus.put(Booking.BookingStatus.COMPLETED.name(), bucket(totals.getCompletedCount(), totals.getCompletedAmount()));
+
+        Map<String, StatsBucket> byBookingType = new TreeMap<>();
+        byBookingType.put(Booking.BookingType.ONLINE.name(), bucket(totals.getOnlineCount(), totals.getOnlineAmount()));
+        byBookingType.put(Booking.BookingType.OFFLINE.name(), bucket(totals.getOfflineCount(), totals.getOfflineAmount()));
+
+        StatsBucket total = bucket(totals.getBookingCount(), totals.getTotalAmount());
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("totalBookings", total.bookings());
+        stats.put("totalRevenue", total.revenue());
+        stats.put("byStatus", byStatus);
+        stats.put("byBookingType", byBookingType);
+        return stats;
+    }
+
+    private static StatsBucket bucket(Long count, BigDecimal amount) {
+        return new StatsBucket(count != null ? count : 0, amount != null ? amount : BigDecimal.ZERO);
+    }
+
+    public record StatsBucket(long bookings, BigDecimal revenue) {
     }
 
     public long getActiveUserCount() {
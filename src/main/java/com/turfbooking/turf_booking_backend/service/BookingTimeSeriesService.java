@@ -0,0 +1,231 @@
+package com.turfbooking.turf_booking_backend.service;
+
+import com.turfbooking.turf_booking_backend.dto.TimeSeriesBucketDTO;
+import com.turfbooking.turf_booking_backend.repository.BookingDailyRollupRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Booking and revenue time series for admin charts. Day buckets are read from the daily
+ * rollup one calendar month at a time and cached per (turf or all turfs, month); week and
+ * month buckets are summed from the cached days, with month totals computed once per
+ * block. A booking change evicts only the months it falls in.
+ */
+@Service
+public class BookingTimeSeriesService {
+
+    public enum Granularity { DAY, WEEK, MONTH }
+
+    static final int MAX_RANGE_DAYS = 3660;
+
+    @Autowired
+    private BookingDailyRollupRepository rollupRepository;
+
+    private final Map<BlockKey, MonthBlock> blocks;
+
+    // Bumped on every eviction so a load that raced with a booking change is not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    public BookingTimeSeriesService(@Value("${booking.timeseries.max-cached-months:2400}") int maxCachedMonths) {
+        this.blocks = Collections.synchronizedMap(new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<BlockKey, MonthBlock> eldest) {
+                return size() > maxCachedMonths;
+            }
+        });
+    }
+
+    public List<TimeSeriesBucketDTO> getSeries(Granularity granularity, LocalDate from, LocalDate to, Long turfId) {
+        if (from.isAfter(to)) {
+            throw new RuntimeException("from must not be after to");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new RuntimeException("Time series range cannot exceed " + MAX_RANGE_DAYS + " days");
+        }
+        Map<YearMonth, MonthBlock> months = loadMonths(turfId, YearMonth.from(from), YearMonth.from(to));
+
+        List<TimeSeriesBucketDTO> series = new ArrayList<>();
+        if (granularity == Granularity.MONTH) {
+            for (MonthBlock block : months.values()) {
+                LocalDate start = block.month.atDay(1);
+                LocalDate end = block.month.atEndOfMonth();
+                // Whole months use the block's cached total; partial edge months are summed by day
+                series.add(!start.isBefore(from) && !end.isAfter(to)
+                        ? block.total()
+                        : block.sum(max(start, from), min(end, to), start));
+            }
+            return series;
+        }
+
+        Bucket current = null;
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            LocalDate periodStart = granularity == Granularity.WEEK
+                    ? day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))
+                    : day;
+            if (current == null || !current.periodStart.equals(periodStart)) {
+                if (current != null) {
+                    series.add(current.toDto());
+                }
+                current = new Bucket(periodStart);
+            }
+            months.get(YearMonth.from(day)).addDay(day.getDayOfMonth() - 1, current);
+        }
+        if (current != null) {
+            series.add(current.toDto());
+        }
+        return series;
+    }
+
+    // Called after a booking on this turf-day commits
+    public void evict(Long turfId, LocalDate date) {
+        generation.incrementAndGet();
+        YearMonth month = YearMonth.from(date);
+        blocks.remove(new BlockKey(turfId, month));
+        blocks.remove(new BlockKey(null, month));
+    }
+
+    public void evictAll() {
+        generation.incrementAndGet();
+        blocks.clear();
+    }
+
+    private Map<YearMonth, MonthBlock> loadMonths(Long turfId, YearMonth first, YearMonth last) {
+        Map<YearMonth, MonthBlock> result = new LinkedHashMap<>();
+        YearMonth firstMissing = null;
+        YearMonth lastMissing = null;
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            MonthBlock block = blocks.get(new BlockKey(turfId, month));
+            result.put(month, block);
+            if (block == null) {
+                firstMissing = firstMissing == null ? month : firstMissing;
+                lastMissing = month;
+            }
+        }
+        if (firstMissing == null) {
+            return result;
+        }
+
+        // One query covers every month that is not cached yet
+        long loadedAt = generation.get();
+        Map<YearMonth, MonthBlock> loaded = new LinkedHashMap<>();
+        for (YearMonth month = firstMissing; !month.isAfter(lastMissing); month = month.plusMonths(1)) {
+            loaded.put(month, new MonthBlock(month));
+        }
+        LocalDate fromDate = firstMissing.atDay(1);
+        LocalDate toDate = lastMissing.atEndOfMonth();
+        List<BookingDailyRollupRepository.DayTotals> rows = turfId == null
+                ? rollupRepository.sumByDay(fromDate, toDate)
+                : rollupRepository.sumByDayForTurf(turfId, fromDate, toDate);
+        for (BookingDailyRollupRepository.DayTotals row : rows) {
+            loaded.get(YearMonth.from(row.getBookingDate())).set(row);
+        }
+
+        for (Map.Entry<YearMonth, MonthBlock> entry : loaded.entrySet()) {
+            if (result.get(entry.getKey()) == null) {
+                result.put(entry.getKey(), entry.getValue());
+            }
+        }
+        synchronized (blocks) {
+            if (generation.get() == loadedAt) {
+                loaded.forEach((month, block) -> blocks.putIfAbsent(new BlockKey(turfId, month), block));
+            }
+        }
+        return result;
+    }
+
+    private static LocalDate max(LocalDate a, LocalDate b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    // turfId is null for the all-turfs series
+    private record BlockKey(Long turfId, YearMonth month) {}
+
+    // Day buckets of one calendar month; immutable once installed in the cache
+    private static final class MonthBlock {
+
+        private final YearMonth month;
+        private final long[] bookings;
+        private final long[] confirmed;
+        private final long[] cancelled;
+        private final BigDecimal[] revenue;
+        private volatile TimeSeriesBucketDTO total;
+
+        MonthBlock(YearMonth month) {
+            int days = month.lengthOfMonth();
+            this.month = month;
+            this.bookings = new long[days];
+            this.confirmed = new long[days];
+            this.cancelled = new long[days];
+            this.revenue = new BigDecimal[days];
+        }
+
+        void set(BookingDailyRollupRepository.DayTotals row) {
+            int i = row.getBookingDate().getDayOfMonth() - 1;
+            bookings[i] = row.getBookingCount() != null ? row.getBookingCount() : 0;
+            confirmed[i] = row.getConfirmedCount() != null ? row.getConfirmedCount() : 0;
+            cancelled[i] = row.getCancelledCount() != null ? row.getCancelledCount() : 0;
+            revenue[i] = row.getTotalAmount();
+        }
+
+        void addDay(int i, Bucket bucket) {
+            bucket.bookings += bookings[i];
+            bucket.confirmed += confirmed[i];
+            bucket.cancelled += cancelled[i];
+            if (revenue[i] != null) {
+                bucket.revenue = bucket.revenue.add(revenue[i]);
+            }
+        }
+
+        TimeSeriesBucketDTO sum(LocalDate from, LocalDate to, LocalDate periodStart) {
+            Bucket bucket = new Bucket(periodStart);
+            for (int i = from.getDayOfMonth() - 1; i < to.getDayOfMonth(); i++) {
+                addDay(i, bucket);
+            }
+            return bucket.toDto();
+        }
+
+        TimeSeriesBucketDTO total() {
+            TimeSeriesBucketDTO result = total;
+            if (result == null) {
+                result = sum(month.atDay(1), month.atEndOfMonth(), month.atDay(1));
+                total = result;
+            }
+            return result;
+        }
+    }
+
+    private static final class Bucket {
+
+        private final LocalDate periodStart;
+        private long bookings;
+        private long confirmed;
+        private long cancelled;
+        private BigDecimal revenue = BigDecimal.ZERO;
+
+        Bucket(LocalDate periodStart) {
+            this.periodStart = periodStart;
+        }
+
+        TimeSeriesBucketDTO toDto() {
+            return new TimeSeriesBucketDTO(periodStart, bookings, revenue, confirmed, cancelled);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.turfbooking.turf_booking_backend.service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Hashed timing wheel for short-lived deadlines such as slot holds.
+ * Scheduling and cancelling are O(1); each tick only visits one bucket.
+ * Any thread may schedule, but {@link #advanceTo(long)} must be driven by a single thread.
+ */
+public class HashedTimingWheel {
+
+    private final long tickMillis;
+    private final long startMillis;
+    private final List<Timeout>[] buckets;
+    private final int mask;
+    private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    public HashedTimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        int size = Integer.highestOneBit(Math.max(2, wheelSize - 1)) << 1;
+        this.tickMillis = tickMillis;
+        this.startMillis = startMillis;
+        this.buckets = new List[size];
+        for (int i = 0; i < size; i++) {
+            buckets[i] = new ArrayList<>();
+        }
+        this.mask = size - 1;
+    }
+
+    public Timeout schedule(Runnable task, long deadlineMillis) {
+        Timeout timeout = new Timeout(task, deadlineMillis);
+        pending.add(timeout);
+        return timeout;
+    }
+
+    // Runs every task whose deadline falls on or before nowMillis
+    public void advanceTo(long nowMillis) {
+        long targetTick = (nowMillis - startMillis) / tickMillis;
+        while (currentTick <= targetTick) {
+            transferPending();
+            expire(buckets[(int) (currentTick & mask)]);
+            currentTick++;
+        }
+    }
+
+    private void transferPending() {
+        Timeout timeout;
+        while ((timeout = pending.poll()) != null) {
+            if (timeout.cancelled) {
+                continue;
+            }
+            long deadlineTick = Math.max(currentTick,
+                    (timeout.deadlineMillis - startMillis + tickMillis - 1) / tickMillis);
+            timeout.remainingRounds = (deadlineTick - currentTick) / buckets.length;
+            buckets[(int) (deadlineTick & mask)].add(timeout);
+        }
+    }
+
+    private void expire(List<Timeout> bucket) {
+        Iterator<Timeout> it = bucket.iterator();
+        while (it.hasNext()) {
+            Timeout timeout = it.next();
+            if (timeout.cancelled) {
+                it.remove();
+            } else if (timeout.remainingRounds <= 0) {
+                it.remove();
+                timeout.task.run();
+            } else {
+                timeout.remainingRounds--;
+            }
+        }
+    }
+
+    public static final class Timeout {
+
+        private final Runnable task;
+        private final long deadlineMillis;
+        private volatile boolean cancelled;
+        private long remainingRounds;
+
+        private Timeout(Runnable task, long deadlineMillis) {
+            this.task = task;
+            this.deadlineMillis = deadlineMillis;
+        }
+
+        // Cancelled timeouts are dropped the next time their bucket is visited
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public long getDeadlineMillis() {
+            return deadlineMillis;
+        }
+    }
+}
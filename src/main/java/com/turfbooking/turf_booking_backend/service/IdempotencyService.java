@@ -0,0 +1,246 @@
+package com.turfbooking.turf_booking_backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.turfbooking.turf_booking_backend.entity.IdempotencyRecord;
+import com.turfbooking.turf_booking_backend.repository.IdempotencyRecordRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Replays completed responses for requests carrying an Idempotency-Key header.
+ * Completed 2xx responses are kept in a bounded, TTL-evicted in-memory store (and
+ * optionally the idempotency_records table); concurrent duplicates wait on the
+ * first execution instead of running their own.
+ */
+@Service
+public class IdempotencyService {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyService.class);
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private IdempotencyRecordRepository recordRepository;
+
+    @Value("${booking.idempotency.ttl-minutes:1440}")
+    private long ttlMinutes;
+
+    @Value("${booking.idempotency.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${booking.idempotency.persist:false}")
+    private boolean persist;
+
+    @Value("${booking.idempotency.wait-ms:15000}")
+    private long waitMillis;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    // Completed keys in completion order; with a single TTL this is also expiry order
+    private final Queue<String> completionOrder = new ConcurrentLinkedQueue<>();
+
+    public ResponseEntity<?> execute(String scope, String key, String fingerprint,
+                                     Supplier<ResponseEntity<?>> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        if (key.length() > 255) {
+            return ResponseEntity.badRequest().body(HEADER + " must be at most 255 characters");
+        }
+
+        String recordKey = recordKey(scope, key);
+        long now = System.currentTimeMillis();
+        evictExpired(now);
+
+        Entry entry = new Entry(fingerprint);
+        Entry existing = entries.putIfAbsent(recordKey, entry);
+        while (existing != null && existing.isExpired(now)) {
+            entries.remove(recordKey, existing);
+            existing = entries.putIfAbsent(recordKey, entry);
+        }
+        if (existing != null) {
+            return replay(existing, fingerprint);
+        }
+
+        if (persist) {
+            Optional<IdempotencyRecord> record = recordRepository.findById(recordKey)
+                    .filter(r -> r.getCreatedAt().isAfter(Instant.now().minusSeconds(ttlMinutes * 60)));
+            if (record.isPresent()) {
+                StoredResponse stored = new StoredResponse(record.get().getStatusCode(),
+                        record.get().getResponseBody(), true, record.get().getFingerprint());
+                complete(recordKey, entry, stored, now);
+                return replay(entry, fingerprint);
+            }
+        }
+
+        ResponseEntity<?> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            entries.remove(recordKey, entry);
+            entry.result.completeExceptionally(e);
+            throw e;
+        }
+
+        Object body = response.getBody();
+        StoredResponse stored = new StoredResponse(response.getStatusCode().value(), serialize(body),
+                !(body instanceof String), fingerprint);
+        if (response.getStatusCode().is2xxSuccessful() && stored.body() != null) {
+            complete(recordKey, entry, stored, now);
+            if (persist) {
+                try {
+                    recordRepository.save(new IdempotencyRecord(recordKey, fingerprint, stored.status(), stored.body()));
+                } catch (Exception e) {
+                    log.warn("Could not persist idempotency record {}: {}", recordKey, e.getMessage());
+                }
+            }
+        } else {
+            // Failures are handed to in-flight duplicates but not kept, so a later retry runs again
+            entries.remove(recordKey, entry);
+            entry.result.complete(stored);
+        }
+        return response;
+    }
+
+    // SHA-256 of scope and key: the scope carries the caller's email, so the raw composite
+    // could outgrow the 512-character record_key column
+    static String recordKey(String scope, String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest((scope + ":" + key).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // SHA-256 of the request body, used to reject a key reused for a different payload
+    public String fingerprint(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${booking.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        evictExpired(System.currentTimeMillis());
+        if (persist) {
+            int purged = recordRepository.deleteCreatedBefore(Instant.now().minusSeconds(ttlMinutes * 60));
+            log.debug("Purged {} expired idempotency records", purged);
+        }
+    }
+
+    private ResponseEntity<?> replay(Entry entry, String fingerprint) {
+        if (entry.fingerprint != null && !entry.fingerprint.equals(fingerprint)) {
+            return ResponseEntity.unprocessableEntity().body(HEADER + " was already used for a different request");
+        }
+        StoredResponse stored;
+        try {
+            stored = entry.result.get(waitMillis, TimeUnit.MILLISECONDS);
+        } catch (java.util.concurrent.TimeoutException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("A request with this " + HEADER + " is still in progress");
+        } catch (java.util.concurrent.ExecutionException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("The original request with this " + HEADER + " failed; please retry");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Interrupted while waiting for the original request");
+        }
+        if (stored.fingerprint() != null && !stored.fingerprint().equals(fingerprint)) {
+            return ResponseEntity.unprocessableEntity().body(HEADER + " was already used for a different request");
+        }
+        if (stored.body() == null) {
+            return ResponseEntity.status(stored.status()).header(REPLAYED_HEADER, "true").build();
+        }
+        return ResponseEntity.status(stored.status())
+                .header(REPLAYED_HEADER, "true")
+                .contentType(stored.json() ? MediaType.APPLICATION_JSON : MediaType.TEXT_PLAIN)
+                .body(stored.body());
+    }
+
+    private void complete(String recordKey, Entry entry, StoredResponse stored, long now) {
+        entry.expiresAtMillis = now + ttlMinutes * 60_000;
+        entry.result.complete(stored);
+        completionOrder.add(recordKey);
+        while (entries.size() > maxEntries) {
+            String eldest = completionOrder.poll();
+            if (eldest == null) {
+                break;
+            }
+            entries.computeIfPresent(eldest, (k, e) -> e.result.isDone() ? null : e);
+        }
+    }
+
+    private void evictExpired(long now) {
+        String head;
+        while ((head = completionOrder.peek()) != null) {
+            Entry entry = entries.get(head);
+            if (entry != null && !entry.isExpired(now)) {
+                break;
+            }
+            completionOrder.poll();
+            if (entry != null) {
+                entries.remove(head, entry);
+            }
+        }
+    }
+
+    private String serialize(Object body) {
+        if (body == null) {
+            return null;
+        }
+        if (body instanceof String text) {
+            return text;
+        }
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (Exception e) {
+            log.warn("Could not serialize response for idempotent replay: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private record StoredResponse(int status, String body, boolean json, String fingerprint) {}
+
+    private static final class Entry {
+
+        private final CompletableFuture<StoredResponse> result = new CompletableFuture<>();
+        private final String fingerprint;
+        private volatile long expiresAtMillis = Long.MAX_VALUE;
+
+        private Entry(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        boolean isExpired(long now) {
+            return now >= expiresAtMillis;
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.turfbooking.turf_booking_backend.service;
+
+import com.turfbooking.turf_booking_backend.dto.OccupancyHeatmapDTO;
+import com.turfbooking.turf_booking_backend.entity.Booking;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Per-turf weekday x hour counts of booked hours for confirmed and completed bookings.
+ * Counters live in memory, are seeded from turf_occupancy_heatmap the first time a turf
+ * is touched and move with every status transition after commit. Each checkpoint adds
+ * the deltas collected since the previous one to the table with an upsert, so several
+ * instances can write the same turf without overwriting each other, and then re-reads
+ * the turf's rows to pick up what the others wrote. Reads never touch bookings. Deltas
+ * since the last checkpoint are lost if the process dies, so the table is an
+ * approximation meant for pricing decisions. Checkpoints and rebuilds never overlap, and
+ * no turf is loaded while a rebuild runs, so deltas from before a rebuild can't be added
+ * to the rebuilt table.
+ */
+@Service
+public class OccupancyHeatmapService {
+
+    private static final Logger log = LoggerFactory.getLogger(OccupancyHeatmapService.class);
+
+    static final int DAYS = 7;
+    static final int HOURS = 24;
+
+    static final String CHECKPOINT_SQL = "INSERT INTO turf_occupancy_heatmap " +
+            "(turf_id, day_of_week, hour_of_day, booked_hours) VALUES (?, ?, ?, ?) " +
+            "ON CONFLICT (turf_id, day_of_week, hour_of_day) " +
+            "DO UPDATE SET booked_hours = turf_occupancy_heatmap.booked_hours + EXCLUDED.booked_hours";
+
+    // Same query as the V6 backfill
+    static final String REBUILD_SQL = "INSERT INTO turf_occupancy_heatmap (turf_id, day_of_week, hour_of_day, booked_hours) " +
+            "SELECT b.turf_id, EXTRACT(ISODOW FROM b.booking_date)::SMALLINT, h.hour::SMALLINT, COUNT(*) " +
+            "FROM bookings b CROSS JOIN LATERAL generate_series(" +
+            "EXTRACT(HOUR FROM b.start_time)::INT, " +
+            "CASE WHEN b.end_time <= b.start_time THEN 23 " +
+            "ELSE CEIL((EXTRACT(HOUR FROM b.end_time) * 60 + EXTRACT(MINUTE FROM b.end_time)) / 60.0)::INT - 1 " +
+            "END) AS h(hour) " +
+            "WHERE b.status IN ('CONFIRMED', 'COMPLETED') " +
+            "GROUP BY b.turf_id, EXTRACT(ISODOW FROM b.booking_date), h.hour";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final Map<Long, Heatmap> heatmaps = new ConcurrentHashMap<>();
+
+    // Held by checkpoint and rebuild for their whole run
+    private final ReentrantLock maintenanceLock = new ReentrantLock();
+
+    // Loads share it; rebuild takes it exclusively while it replaces the table and drops the counters
+    private final ReentrantReadWriteLock tableLock = new ReentrantReadWriteLock();
+
+    public OccupancyHeatmapDTO getHeatmap(Long turfId) {
+        Heatmap heatmap = heatmap(turfId);
+        long[][] bookedHours = new long[DAYS][HOURS];
+        long max = 0;
+        for (int day = 0; day < DAYS; day++) {
+            for (int hour = 0; hour < HOURS; hour++) {
+                long value = heatmap.count(day * HOURS + hour);
+                bookedHours[day][hour] = value;
+                max = Math.max(max, value);
+            }
+        }
+        return new OccupancyHeatmapDTO(turfId, bookedHours, max);
+    }
+
+    // Called after commit; from or to is null when the booking was created or deleted
+    public void recordTransition(Booking booking, Booking.BookingStatus from, Booking.BookingStatus to) {
+        int sign = (occupies(to) ? 1 : 0) - (occupies(from) ? 1 : 0);
+        if (sign == 0 || booking.getTurf() == null || booking.getBookingDate() == null) {
+            return;
+        }
+        int day = booking.getBookingDate().getDayOfWeek().getValue() - 1;
+        int start = BookingAvailabilityIndex.toMinute(booking.getStartTime());
+        int end = BookingAvailabilityIndex.toEndMinute(start, booking.getEndTime());
+
+        Heatmap heatmap;
+        try {
+            heatmap = heatmap(booking.getTurf().getId());
+        } catch (RuntimeException e) {
+            // The booking is already committed; a missed delta only skews the heatmap
+            log.warn("Could not load occupancy heatmap for turf {}: {}", booking.getTurf().getId(), e.getMessage());
+            return;
+        }
+        for (int hour = start / 60; hour * 60 < end && hour < HOURS; hour++) {
+            heatmap.pending.addAndGet(day * HOURS + hour, sign);
+        }
+        heatmap.dirty.set(true);
+    }
+
+    @Scheduled(fixedDelayString = "${booking.heatmap.checkpoint-ms:60000}")
+    public void checkpoint() {
+        maintenanceLock.lock();
+        try {
+            heatmaps.forEach(this::checkpoint);
+        } finally {
+            maintenanceLock.unlock();
+        }
+    }
+
+    private void checkpoint(Long turfId, Heatmap heatmap) {
+        if (!heatmap.dirty.getAndSet(false)) {
+            return;
+        }
+        // Deltas recorded while this runs stay pending for the next checkpoint
+        long[] flushed = new long[DAYS * HOURS];
+        List<Object[]> rows = new ArrayList<>();
+        for (int cell = 0; cell < DAYS * HOURS; cell++) {
+            flushed[cell] = heatmap.pending.get(cell);
+            if (flushed[cell] != 0) {
+                rows.add(new Object[]{turfId, cell / HOURS + 1, cell % HOURS, flushed[cell]});
+            }
+        }
+        try {
+            long[] stored = new long[DAYS * HOURS];
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!rows.isEmpty()) {
+                    jdbcTemplate.batchUpdate(CHECKPOINT_SQL, rows);
+                }
+                read(turfId, stored);
+            });
+            for (int cell = 0; cell < DAYS * HOURS; cell++) {
+                heatmap.pending.addAndGet(cell, -flushed[cell]);
+                heatmap.stored.set(cell, stored[cell]);
+            }
+        } catch (DataIntegrityViolationException e) {
+            // The turf was deleted
+            heatmaps.remove(turfId);
+        } catch (Exception e) {
+            log.warn("Could not checkpoint occupancy heatmap for turf {}: {}", turfId, e.getMessage());
+            heatmap.dirty.set(true);
+        }
+    }
+
+    // Recomputes the table from bookings (PostgreSQL only) and drops the in-memory counters
+    public void rebuild() {
+        maintenanceLock.lock();
+        tableLock.writeLock().lock();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.update("DELETE FROM turf_occupancy_heatmap");
+                jdbcTemplate.update(REBUILD_SQL);
+            });
+            heatmaps.clear();
+        } finally {
+            tableLock.writeLock().unlock();
+            maintenanceLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flush() {
+        checkpoint();
+    }
+
+    private static boolean occupies(Booking.BookingStatus status) {
+        return status == Booking.BookingStatus.CONFIRMED || status == Booking.BookingStatus.COMPLETED;
+    }
+
+    // Loaded outside computeIfAbsent: rebuild clears the map while holding the table lock
+    private Heatmap heatmap(Long turfId) {
+        Heatmap heatmap = heatmaps.get(turfId);
+        if (heatmap != null) {
+            return heatmap;
+        }
+        tableLock.readLock().lock();
+        try {
+            heatmap = heatmaps.get(turfId);
+            if (heatmap == null) {
+                Heatmap loaded = load(turfId);
+                heatmap = heatmaps.putIfAbsent(turfId, loaded);
+                if (heatmap == null) {
+                    heatmap = loaded;
+                }
+            }
+            return heatmap;
+        } finally {
+            tableLock.readLock().unlock();
+        }
+    }
+
+    private Heatmap load(Long turfId) {
+        long[] stored = new long[DAYS * HOURS];
+        transactionTemplate.executeWithoutResult(status -> read(turfId, stored));
+        Heatmap heatmap = new Heatmap();
+        for (int cell = 0; cell < DAYS * HOURS; cell++) {
+            heatmap.stored.set(cell, stored[cell]);
+        }
+        return heatmap;
+    }
+
+    private void read(Long turfId, long[] stored) {
+        jdbcTemplate.query(
+                "SELECT day_of_week, hour_of_day, booked_hours FROM turf_occupancy_heatmap WHERE turf_id = ?",
+                rs -> {
+                    int cell = (rs.getInt("day_of_week") - 1) * HOURS + rs.getInt("hour_of_day");
+                    stored[cell] = rs.getLong("booked_hours");
+                }, turfId);
+    }
+
+    private static final class Heatmap {
+        // The table's counts as of the last load or checkpoint
+        private final AtomicLongArray stored = new AtomicLongArray(DAYS * HOURS);
+        // Changes recorded here since then, not yet added to the table
+        private final AtomicLongArray pending = new AtomicLongArray(DAYS * HOURS);
+        private final AtomicBoolean dirty = new AtomicBoolean();
+
+        long count(int cell) {
+            return stored.get(cell) + pending.get(cell);
+        }
+    }
+}
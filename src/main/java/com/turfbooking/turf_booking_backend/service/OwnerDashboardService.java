@@ -0,0 +1,126 @@
+package com.turfbooking.turf_booking_backend.service;
+
+import com.turfbooking.turf_booking_backend.dto.OwnerDashboardDTO;
+import com.turfbooking.turf_booking_backend.repository.BookingDailyRollupRepository;
+import com.turfbooking.turf_booking_backend.repository.TurfRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-owner dashboard built from the daily booking rollup and kept in memory until a
+ * booking or turf of that owner changes. An epoch per owner stops a computation that
+ * raced with an invalidation from caching its already stale result.
+ */
+@Service
+public class OwnerDashboardService {
+
+    @Autowired
+    private BookingDailyRollupRepository rollupRepository;
+
+    @Autowired
+    private TurfRepository turfRepository;
+
+    private final long ttlMillis;
+
+    private final Map<Long, Cached> dashboards = new ConcurrentHashMap<>();
+    private final Map<Long, Long> epochs = new ConcurrentHashMap<>();
+    private final Map<Long, Long> turfOwners = new ConcurrentHashMap<>();
+
+    public OwnerDashboardService(@Value("${booking.dashboard.cache-ttl-ms:600000}") long ttlMillis) {
+        this.ttlMillis = ttlMillis;
+    }
+
+    public OwnerDashboardDTO getDashboard(Long ownerId) {
+        Cached cached = dashboards.get(ownerId);
+        if (cached != null && !cached.isExpired(System.currentTimeMillis())) {
+            return cached.dashboard;
+        }
+        long epoch = epochs.getOrDefault(ownerId, 0L);
+        OwnerDashboardDTO dashboard = compute(ownerId);
+        Cached fresh = new Cached(dashboard, System.currentTimeMillis() + ttlMillis);
+        dashboards.compute(ownerId, (id, current) -> epochs.getOrDefault(ownerId, 0L) == epoch ? fresh : current);
+        return dashboard;
+    }
+
+    // Called after a booking on this turf commits
+    public void evictTurf(Long turfId) {
+        Long ownerId = turfOwners.get(turfId);
+        if (ownerId == null) {
+            ownerId = turfRepository.findOwnerIdById(turfId).orElse(null);
+            if (ownerId == null) {
+                return;
+            }
+            turfOwners.put(turfId, ownerId);
+        }
+        evictOwner(ownerId);
+    }
+
+    public void evictOwner(Long ownerId) {
+        epochs.merge(ownerId, 1L, Long::sum);
+        dashboards.remove(ownerId);
+    }
+
+    public void evictAll() {
+        for (Long ownerId : dashboards.keySet()) {
+            evictOwner(ownerId);
+        }
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        dashboards.values().removeIf(cached -> cached.isExpired(now));
+    }
+
+    private OwnerDashboardDTO compute(Long ownerId) {
+        long totalBookings = 0;
+        long confirmed = 0;
+        long cancelled = 0;
+        BigDecimal totalRevenue = BigDecimal.ZERO;
+
+        List<OwnerDashboardDTO.TurfStats> turfs = new ArrayList<>();
+        for (BookingDailyRollupRepository.TurfTotals row : rollupRepository.sumByOwnerPerTurf(ownerId)) {
+            turfOwners.put(row.getTurfId(), ownerId);
+            OwnerDashboardDTO.TurfStats stats = new OwnerDashboardDTO.TurfStats(row.getTurfId(), row.getTurfName(),
+                    count(row.getBookingCount()), amount(row.getTotalAmount()),
+                    count(row.getConfirmedCount()), count(row.getCancelledCount()));
+            turfs.add(stats);
+            totalBookings += stats.bookings();
+            totalRevenue = totalRevenue.add(stats.revenue());
+            confirmed += stats.confirmedBookings();
+            cancelled += stats.cancelledBookings();
+        }
+
+        List<OwnerDashboardDTO.MonthStats> months = new ArrayList<>();
+        for (BookingDailyRollupRepository.MonthTotals row : rollupRepository.sumByOwnerPerMonth(ownerId)) {
+            months.add(new OwnerDashboardDTO.MonthStats(String.format("%04d-%02d", row.getYear(), row.getMonth()),
+                    count(row.getBookingCount()), amount(row.getTotalAmount()),
+                    count(row.getConfirmedCount()), count(row.getCancelledCount())));
+        }
+
+        return new OwnerDashboardDTO(totalBookings, totalRevenue, confirmed, cancelled,
+                List.copyOf(turfs), List.copyOf(months));
+    }
+
+    private static long count(Long value) {
+        return value != null ? value : 0;
+    }
+
+    private static BigDecimal amount(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+
+    private record Cached(OwnerDashboardDTO dashboard, long expiresAt) {
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+}
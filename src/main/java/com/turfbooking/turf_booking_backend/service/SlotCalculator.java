@@ -0,0 +1,131 @@
+package com.turfbooking.turf_booking_backend.service;
+
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Validates and prices booking slots as int minute-of-day offsets. A slot must end after it
+ * starts; an end of 00:00 means midnight (end offset 1440), and nothing runs into the next
+ * day. The clock is read once per request and all slots are checked in a single pass over
+ * primitive arrays.
+ */
+@Component
+public class SlotCalculator {
+
+    // Slots starting before 03:00 belong to the night that started on the booking date
+    static final int LATE_NIGHT_END_MINUTE = 3 * 60;
+
+    private final Clock clock;
+
+    public SlotCalculator() {
+        this(Clock.systemDefaultZone());
+    }
+
+    SlotCalculator(Clock clock) {
+        this.clock = clock;
+    }
+
+    public SlotPlan plan(LocalDate date, LocalTime startTime, LocalTime endTime) {
+        int start = BookingAvailabilityIndex.toMinute(startTime);
+        return validate(date, new int[]{start}, new int[]{endMinute(start, endTime)});
+    }
+
+    // One-hour slots starting at each of the given times
+    public SlotPlan planHourly(LocalDate date, List<LocalTime> startTimes) {
+        int[] starts = new int[startTimes.size()];
+        int[] ends = new int[starts.length];
+        for (int i = 0; i < starts.length; i++) {
+            starts[i] = BookingAvailabilityIndex.toMinute(startTimes.get(i));
+            // A slot starting after 23:00 is cut short at midnight rather than running into the next day
+            ends[i] = Math.min(starts[i] + 60, BookingAvailabilityIndex.MINUTES_PER_DAY);
+        }
+        return validate(date, starts, ends);
+    }
+
+    // Price without date validation, for owner-entered offline bookings; the end time is still checked
+    public BigDecimal price(LocalTime startTime, LocalTime endTime, BigDecimal pricePerHour) {
+        int start = BookingAvailabilityIndex.toMinute(startTime);
+        int hours = (endMinute(start, endTime) - start + 59) / 60;
+        return pricePerHour.multiply(BigDecimal.valueOf(hours));
+    }
+
+    // Agrees with BookingAvailabilityIndex.toEndMinute and the slot_range column for every slot it accepts
+    private static int endMinute(int start, LocalTime endTime) {
+        int end = BookingAvailabilityIndex.toMinute(endTime);
+        if (end == 0 && start > 0) {
+            end = BookingAvailabilityIndex.MINUTES_PER_DAY;
+        }
+        if (end <= start) {
+            throw new RuntimeException("End time must be after start time");
+        }
+        return end;
+    }
+
+    private SlotPlan validate(LocalDate date, int[] starts, int[] ends) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        LocalDate today = now.toLocalDate();
+        if (date.isBefore(today)) {
+            throw new RuntimeException("Booking date cannot be in the past");
+        }
+        boolean isToday = date.equals(today);
+        int nowSecond = now.toLocalTime().toSecondOfDay();
+        boolean nowIsLateNight = nowSecond < LATE_NIGHT_END_MINUTE * 60;
+
+        int[] hours = new int[starts.length];
+        int totalHours = 0;
+        for (int i = 0; i < starts.length; i++) {
+            int start = starts[i];
+            // A late-night slot today is still upcoming unless the night itself is already under way
+            if (isToday && start * 60 < nowSecond && (start >= LATE_NIGHT_END_MINUTE || nowIsLateNight)) {
+                throw new RuntimeException("You cannot book past time slots. Please select an upcoming time slot.");
+            }
+            hours[i] = (ends[i] - start + 59) / 60;
+            totalHours += hours[i];
+        }
+        return new SlotPlan(starts, ends, hours, totalHours);
+    }
+
+    public static final class SlotPlan {
+
+        private final int[] startMinutes;
+        private final int[] endMinutes;
+        private final int[] billableHours;
+        private final int totalBillableHours;
+
+        private SlotPlan(int[] startMinutes, int[] endMinutes, int[] billableHours, int totalBillableHours) {
+            this.startMinutes = startMinutes;
+            this.endMinutes = endMinutes;
+            this.billableHours = billableHours;
+            this.totalBillableHours = totalBillableHours;
+        }
+
+        public int size() { return startMinutes.length; }
+
+        public int startMinute(int i) { return startMinutes[i]; }
+
+        public int endMinute(int i) { return endMinutes[i]; }
+
+        public LocalTime startTime(int i) { return toTime(startMinutes[i]); }
+
+        public LocalTime endTime(int i) { return toTime(endMinutes[i]); }
+
+        // Started hours are billed in full
+        public BigDecimal price(int i, BigDecimal pricePerHour) {
+            return billableHours[i] == 1 ? pricePerHour : pricePerHour.multiply(BigDecimal.valueOf(billableHours[i]));
+        }
+
+        public BigDecimal totalPrice(BigDecimal pricePerHour) {
+            return pricePerHour.multiply(BigDecimal.valueOf(totalBillableHours));
+        }
+
+        private static LocalTime toTime(int minute) {
+            return LocalTime.of(minute / 60 % 24, minute % 60);
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.turfbooking.turf_booking_backend.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.turfbooking.turf_booking_backend.entity.Turf;
+import com.turfbooking.turf_booking_backend.repository.TurfRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Short-lived, in-memory reservations of slots between selection and payment.
+ * Expiry runs on a hashed timing wheel, so holds never need to be polled out of the database.
+ * Each user may keep a few live holds of a few slots each, so one account can't tie up a turf.
+ */
+@Service
+public class SlotHoldService {
+
+    @Autowired
+    private BookingAvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private BookingLockManager bookingLockManager;
+
+    @Autowired
+    private AvailabilityBroadcaster availabilityBroadcaster;
+
+    @Autowired
+    private SlotCalculator slotCalculator;
+
+    @Autowired
+    private TurfRepository turfRepository;
+
+    @Value("${booking.hold.ttl-minutes:10}")
+    private long ttlMinutes;
+
+    @Value("${booking.hold.max-slots:6}")
+    private int maxSlotsPerHold;
+
+    @Value("${booking.hold.max-live-per-user:2}")
+    private int maxLiveHoldsPerUser;
+
+    private final HashedTimingWheel expiryWheel = new HashedTimingWheel(1000, 1024, System.currentTimeMillis());
+
+    private final Map<String, SlotHold> holds = new ConcurrentHashMap<>();
+    private final Map<DayKey, Set<SlotHold>> holdsByDay = new ConcurrentHashMap<>();
+    private final Map<Long, Set<SlotHold>> holdsByUser = new ConcurrentHashMap<>();
+
+    public SlotHold hold(Long userId, Long turfId, LocalDate date, List<LocalTime> slotStarts) {
+        if (slotStarts == null || slotStarts.isEmpty()) {
+            throw new RuntimeException("At least one slot is required");
+        }
+        List<LocalTime> starts = new ArrayList<>(new TreeSet<>(slotStarts));
+        if (starts.size() > maxSlotsPerHold) {
+            throw new RuntimeException("A hold can cover at most " + maxSlotsPerHold + " slots");
+        }
+        Turf turf = turfRepository.findById(turfId)
+                .orElseThrow(() -> new RuntimeException("Turf not found"));
+        if (!turf.getIsActive()) {
+            throw new RuntimeException("Turf is not available for booking");
+        }
+        // Same date and started-slot rules as booking
+        slotCalculator.planHourly(date, starts);
+
+        return bookingLockManager.withLock(turfId, date, () -> {
+            for (LocalTime start : starts) {
+                LocalTime end = start.plusHours(1);
+                if (!availabilityIndex.isAvailable(turfId, date, start, end)
+                        || isHeldByOther(turfId, date, start, end, userId)) {
+                    throw new RuntimeException("One or more selected slots are no longer available");
+                }
+            }
+
+            long now = System.currentTimeMillis();
+            SlotHold hold = new SlotHold(UUID.randomUUID().toString(), userId, turfId, date, starts,
+                    now + ttlMinutes * 60_000);
+            // Counted and added in one step so parallel requests on other turf-days can't overshoot the limit
+            holdsByUser.compute(userId, (k, set) -> {
+                Set<SlotHold> userHolds = set != null ? set : ConcurrentHashMap.newKeySet();
+                if (userHolds.stream().filter(existing -> existing.isLive(now)).count() >= maxLiveHoldsPerUser) {
+                    throw new RuntimeException("You can hold at most " + maxLiveHoldsPerUser
+                            + " sets of slots at a time");
+                }
+                userHolds.add(hold);
+                return userHolds;
+            });
+            holds.put(hold.getHoldId(), hold);
+            // Added inside compute so a concurrent remove can't drop the set this hold lands in
+            holdsByDay.compute(new DayKey(turfId, date), (k, set) -> {
+                Set<SlotHold> dayHolds = set != null ? set : ConcurrentHashMap.newKeySet();
+                dayHolds.add(hold);
+                return dayHolds;
+            });
+            hold.expiry = expiryWheel.schedule(() -> remove(hold), hold.expiresAtMillis);
+            publishSlotChanges(hold);
+            return hold;
+        });
+    }
+
+    public Optional<SlotHold> findLiveHold(String holdId, Long userId) {
+        SlotHold hold = holds.get(holdId);
+        if (hold == null || !hold.isLive(System.currentTimeMillis()) || !hold.userId.equals(userId)) {
+            return Optional.empty();
+        }
+        return Optional.of(hold);
+    }
+
+    public void release(String holdId, Long userId) {
+        SlotHold hold = holds.get(holdId);
+        if (hold == null || !hold.userId.equals(userId)) {
+            throw new RuntimeException("Hold not found");
+        }
+        remove(hold);
+    }
+
+    // Live holds of other users overlapping the given slot
+    public boolean isHeldByOther(Long turfId, LocalDate date, LocalTime startTime, LocalTime endTime, Long userId) {
+        int start = BookingAvailabilityIndex.toMinute(startTime);
+        int end = BookingAvailabilityIndex.toEndMinute(start, endTime);
+        long now = System.currentTimeMillis();
+        for (SlotHold hold : holdsByDay.getOrDefault(new DayKey(turfId, date), Set.of())) {
+            if (hold.isLive(now) && !hold.userId.equals(userId) && hold.overlaps(start, end)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public List<LocalTime> getHeldStartTimes(Long turfId, LocalDate date) {
+        List<LocalTime> held = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        for (SlotHold hold : holdsByDay.getOrDefault(new DayKey(turfId, date), Set.of())) {
+            if (hold.isLive(now)) {
+                held.addAll(hold.getSlotStarts());
+            }
+        }
+        return held;
+    }
+
+    @Scheduled(fixedRate = 1000)
+    public void expireHolds() {
+        expiryWheel.advanceTo(System.currentTimeMillis());
+    }
+
+    private void remove(SlotHold hold) {
+        if (holds.remove(hold.getHoldId()) == null) {
+            return;
+        }
+        if (hold.expiry != null) {
+            hold.expiry.cancel();
+        }
+        DayKey key = new DayKey(hold.getTurfId(), hold.getBookingDate());
+        holdsByDay.computeIfPresent(key, (k, set) -> {
+            set.remove(hold);
+            return set.isEmpty() ? null : set;
+        });
+        holdsByUser.computeIfPresent(hold.userId, (k, set) -> {
+            set.remove(hold);
+            return set.isEmpty() ? null : set;
+        });
+        publishSlotChanges(hold);
+    }
+
+    private void publishSlotChanges(SlotHold hold) {
+        Long turfId = hold.getTurfId();
+        LocalDate date = hold.getBookingDate();
+        if (!availabilityBroadcaster.isObserved(turfId, date)) {
+            return;
+        }
+        availabilityBroadcaster.publish(turfId, date, hold.getSlotStarts(), start -> {
+            LocalTime end = start.plusHours(1);
+            return !availabilityIndex.isAvailable(turfId, date, start, end) || isHeldByOther(turfId, date, start, end, null);
+        });
+    }
+
+    private record DayKey(Long turfId, LocalDate date) {}
+
+    public static final class SlotHold {
+
+        private final String holdId;
+        private final Long userId;
+        private final Long turfId;
+        private final LocalDate bookingDate;
+        private final List<LocalTime> slotStarts;
+        private final long expiresAtMillis;
+        private HashedTimingWheel.Timeout expiry;
+
+        private SlotHold(String holdId, Long userId, Long turfId, LocalDate bookingDate,
+                         List<LocalTime> slotStarts, long expiresAtMillis) {
+            this.holdId = holdId;
+            this.userId = userId;
+            this.turfId = turfId;
+            this.bookingDate = bookingDate;
+            this.slotStarts = List.copyOf(slotStarts);
+            this.expiresAtMillis = expiresAtMillis;
+        }
+
+        public String getHoldId() { return holdId; }
+
+        public Long getTurfId() { return turfId; }
+
+        public LocalDate getBookingDate() { return bookingDate; }
+
+        public List<LocalTime> getSlotStarts() { return slotStarts; }
+
+        public Instant getExpiresAt() { return Instant.ofEpochMilli(expiresAtMillis); }
+
+        @JsonIgnore
+        public Long getUserId() { return userId; }
+
+        boolean isLive(long nowMillis) {
+            return nowMillis < expiresAtMillis;
+        }
+
+        boolean overlaps(int start, int end) {
+            for (LocalTime slotStart : slotStarts) {
+                int holdStart = BookingAvailabilityIndex.toMinute(slotStart);
+                int holdEnd = BookingAvailabilityIndex.toEndMinute(holdStart, slotStart.plusHours(1));
+                if (holdStart < end && holdEnd > start) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.turfbooking.turf_booking_backend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache for the public turf catalog: the active turf list, its pages and single
+ * turfs by id. Entries expire after a TTL and are dropped by TurfService writes: a change
+ * to one turf removes that turf's entry, and the list entries only when the turf is or was
+ * listed. A generation counter, bumped with every invalidation under the same lock, stops
+ * a load that raced with a write from caching its stale result.
+ */
+@Component
+public class TurfCatalogCache {
+
+    record ActiveList() {}
+
+    record ActivePage(Pageable pageable) {}
+
+    record TurfById(Long id) {}
+
+    public record Stats(long size, long hits, long misses, long evictions, long invalidations, double hitRate) {}
+
+    private final long ttlMillis;
+
+    // Access-ordered; guarded by synchronizing on itself
+    private final LinkedHashMap<Object, Entry> entries;
+    private long generation;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public TurfCatalogCache(@Value("${turf.catalog.cache-ttl-ms:300000}") long ttlMillis,
+                            @Value("${turf.catalog.max-entries:512}") int maxEntries) {
+        this.ttlMillis = ttlMillis;
+        this.entries = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+                if (size() > maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    // Null results are not cached, so a turf created later is found straight away
+    @SuppressWarnings("unchecked")
+    <T> T get(Object key, Supplier<T> loader) {
+        long loadedAt;
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                if (!entry.isExpired(System.currentTimeMillis())) {
+                    hits.increment();
+                    return (T) entry.value;
+                }
+                entries.remove(key);
+                evictions.increment();
+            }
+            loadedAt = generation;
+        }
+        misses.increment();
+
+        T value = loader.get();
+        if (value != null) {
+            synchronized (entries) {
+                if (generation == loadedAt) {
+                    entries.put(key, new Entry(value, System.currentTimeMillis() + ttlMillis));
+                }
+            }
+        }
+        return value;
+    }
+
+    // Called after a write to this turf commits; listed is whether it is or was in the active list
+    public void evictTurf(Long turfId, boolean listed) {
+        synchronized (entries) {
+            generation++;
+            if (entries.remove(new TurfById(turfId)) != null) {
+                invalidations.increment();
+            }
+            if (listed) {
+                Iterator<Object> keys = entries.keySet().iterator();
+                while (keys.hasNext()) {
+                    if (!(keys.next() instanceof TurfById)) {
+                        keys.remove();
+                        invalidations.increment();
+                    }
+                }
+            }
+        }
+    }
+
+    public Stats getStats() {
+        long size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        long hitCount = hits.sum();
+        long lookups = hitCount + misses.sum();
+        return new Stats(size, hitCount, misses.sum(), evictions.sum(), invalidations.sum(),
+                lookups == 0 ? 0 : (double) hitCount / lookups);
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            Iterator<Entry> values = entries.values().iterator();
+            while (values.hasNext()) {
+                if (values.next().isExpired(now)) {
+                    values.remove();
+                    evictions.increment();
+                }
+            }
+        }
+    }
+
+    private record Entry(Object value, long expiresAt) {
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+}
@@ -17,20 +17,42 @@ public class TurfService {
     @Autowired
     private TurfRepository turfRepository;
 
+    @Autowired
+    private OwnerDashboardService ownerDashboardService;
+
+    @Autowired
+    private TurfCatalogCache turfCatalogCache;
+
     public Turf createTurf(Turf turf) {
-        return turfRepository.save(turf);
+        Turf saved = turfRepository.save(turf);
+        if (saved.getOwner() != null) {
+            ownerDashboardService.evictOwner(saved.getOwner().getId());
+        }
+        turfCatalogCache.evictTurf(saved.getId(), Boolean.TRUE.equals(saved.getIsActive()));
+        return saved;
     }
 
     public Optional<Turf> findById(Long id) {
         return turfRepository.findById(id);
     }
 
+    // Cached for the public catalog; callers must not modify the returned turf
+    public Optional<Turf> findPublicTurfById(Long id) {
+        return Optional.ofNullable(turfCatalogCache.get(new TurfCatalogCache.TurfById(id),
+                () -> turfRepository.findById(id).orElse(null)));
+    }
+
     public List<Turf> findAllActiveTurfs() {
-        return turfRepository.findByIsActive(true);
+        return turfCatalogCache.get(new TurfCatalogCache.ActiveList(), () -> turfRepository.findByIsActive(true));
     }
 
     public Page<Turf> findAllActiveTurfs(Pageable pageable) {
-        return turfRepository.findByIsActive(true, pageable);
+        return turfCatalogCache.get(new TurfCatalogCache.ActivePage(pageable),
+                () -> turfRepository.findByIsActive(true, pageable));
+    }
+
+    public TurfCatalogCache.Stats getCatalogCacheStats() {
+        return turfCatalogCache.getStats();
     }
 
     public List<Turf> findAllInactiveTurfs() {
@@ -63,27 +85,40 @@ public class TurfService {
         turf.setAmenities(turfDetails.getAmenities());
         turf.setImages(turfDetails.getImages());
 
-        return turfRepository.save(turf);
+        Turf saved = turfRepository.save(turf);
+        ownerDashboardService.evictTurf(id);
+        turfCatalogCache.evictTurf(id, Boolean.TRUE.equals(saved.getIsActive()));
+        return saved;
     }
 
     public void deleteTurf(Long id) {
         Turf turf = turfRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Turf not found"));
         turfRepository.delete(turf);
+        if (turf.getOwner() != null) {
+            ownerDashboardService.evictOwner(turf.getOwner().getId());
+        }
+        turfCatalogCache.evictTurf(id, Boolean.TRUE.equals(turf.getIsActive()));
     }
 
     public void permanentlyDeleteTurf(Long id) {
         if (!turfRepository.existsById(id)) {
             throw new RuntimeException("Turf not found");
         }
+        // Resolve the owner before the turf row is gone
+        Optional<Long> ownerId = turfRepository.findOwnerIdById(id);
         turfRepository.deleteById(id);
+        ownerId.ifPresent(ownerDashboardService::evictOwner);
+        turfCatalogCache.evictTurf(id, true);
     }
 
     public Turf approveTurf(Long id) {
         Turf turf = turfRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Turf not found"));
         turf.setIsActive(true);
-        return turfRepository.save(turf);
+        Turf saved = turfRepository.save(turf);
+        turfCatalogCache.evictTurf(id, true);
+        return saved;
     }
 
     // Helper method to validate and process images
@@ -0,0 +1,18 @@
+-- Per turf-day booking counts and amounts by payment mode, kept in step with bookings by
+-- BookingRollupService; bookings without a payment mode are counted under 'UNKNOWN'
+CREATE TABLE booking_payment_mode_rollup (
+    turf_id        BIGINT NOT NULL REFERENCES turfs (id) ON DELETE CASCADE,
+    booking_date   DATE NOT NULL,
+    payment_mode   VARCHAR(255) NOT NULL,
+    booking_count  BIGINT NOT NULL DEFAULT 0,
+    total_amount   NUMERIC(14, 2) NOT NULL DEFAULT 0,
+    updated_at     TIMESTAMP(6),
+    PRIMARY KEY (turf_id, booking_date, payment_mode)
+);
+
+-- Backfill from existing bookings; same statement as BookingRollupService.rebuild()
+INSERT INTO booking_payment_mode_rollup (turf_id, booking_date, payment_mode, booking_count, total_amount, updated_at)
+SELECT turf_id, booking_date, COALESCE(NULLIF(TRIM(payment_mode), ''), 'UNKNOWN'), COUNT(*),
+       COALESCE(SUM(total_amount), 0), CURRENT_TIMESTAMP
+FROM bookings
+GROUP BY turf_id, booking_date, COALESCE(NULLIF(TRIM(payment_mode), ''), 'UNKNOWN');
@@ -0,0 +1,65 @@
+-- Schema as previously generated by Hibernate (ddl-auto=update).
+-- Existing databases are baselined at this version and skip it.
+
+CREATE TABLE users (
+    id          BIGSERIAL PRIMARY KEY,
+    first_name  VARCHAR(255),
+    last_name   VARCHAR(255),
+    email       VARCHAR(255),
+    password    VARCHAR(255),
+    phone       VARCHAR(255),
+    avatar      VARCHAR(255),
+    google_id   VARCHAR(255),
+    role        VARCHAR(255) CHECK (role IN ('USER', 'ADMIN', 'OWNER')),
+    created_at  TIMESTAMP(6)
+);
+
+CREATE TABLE turfs (
+    id              BIGSERIAL PRIMARY KEY,
+    name            VARCHAR(100),
+    description     TEXT,
+    location        VARCHAR(255),
+    price_per_hour  NUMERIC(10, 2),
+    amenities       TEXT,
+    images          TEXT,
+    is_active       BOOLEAN,
+    owner_id        BIGINT REFERENCES users (id),
+    created_at      TIMESTAMP(6),
+    updated_at      TIMESTAMP(6)
+);
+
+CREATE TABLE bookings (
+    id            BIGSERIAL PRIMARY KEY,
+    user_id       BIGINT NOT NULL REFERENCES users (id),
+    turf_id       BIGINT NOT NULL REFERENCES turfs (id),
+    booking_date  DATE NOT NULL,
+    start_time    TIME(6) NOT NULL,
+    end_time      TIME(6) NOT NULL,
+    total_amount  NUMERIC(10, 2),
+    status        VARCHAR(255) CHECK (status IN ('PENDING', 'CONFIRMED', 'CANCELLED', 'COMPLETED')),
+    booking_type  VARCHAR(255) CHECK (booking_type IN ('ONLINE', 'OFFLINE')),
+    payment_mode  VARCHAR(255),
+    full_name     VARCHAR(255),
+    phone_number  VARCHAR(255),
+    email         VARCHAR(255),
+    created_at    TIMESTAMP(6),
+    updated_at    TIMESTAMP(6)
+);
+
+CREATE TABLE payments (
+    id              BIGSERIAL PRIMARY KEY,
+    booking_id      BIGINT NOT NULL UNIQUE REFERENCES bookings (id),
+    amount          NUMERIC(38, 2) NOT NULL,
+    payment_method  VARCHAR(255),
+    status          VARCHAR(255) CHECK (status IN ('PENDING', 'SUCCESS', 'FAILED')),
+    transaction_id  VARCHAR(255),
+    created_at      TIMESTAMP(6)
+);
+
+CREATE TABLE site_settings (
+    id             BIGSERIAL PRIMARY KEY,
+    setting_key    VARCHAR(100) NOT NULL UNIQUE,
+    setting_value  OID,
+    setting_type   VARCHAR(50),
+    updated_at     TIMESTAMP(6) WITH TIME ZONE
+);
@@ -0,0 +1,23 @@
+-- Database-level slot exclusion: overlapping active bookings for one turf are
+-- rejected with SQLSTATE 23P01 no matter which instance inserts them.
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS slot_range tsrange
+    GENERATED ALWAYS AS (tsrange(booking_date + start_time,
+        CASE WHEN end_time <= start_time THEN booking_date + 1 + end_time
+             ELSE booking_date + end_time END, '[)')) STORED;
+
+-- Existing overlapping rows must not block startup; without the constraint
+-- BookingService falls back to in-process locks
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'bookings_no_overlapping_slots') THEN
+        ALTER TABLE bookings ADD CONSTRAINT bookings_no_overlapping_slots
+            EXCLUDE USING gist (turf_id WITH =, slot_range WITH &&)
+            WHERE (status IN ('PENDING', 'CONFIRMED') OR booking_type = 'OFFLINE');
+    END IF;
+EXCEPTION
+    WHEN exclusion_violation THEN
+        RAISE WARNING 'bookings_no_overlapping_slots not installed: existing bookings overlap';
+END $$;
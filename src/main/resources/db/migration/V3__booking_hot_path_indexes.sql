@@ -0,0 +1,10 @@
+-- Availability and conflict checks only look at slots that still block the turf
+CREATE INDEX IF NOT EXISTS idx_bookings_turf_date_active
+    ON bookings (turf_id, booking_date, start_time)
+    WHERE status IN ('PENDING', 'CONFIRMED') OR booking_type = 'OFFLINE';
+
+-- findUserBookingsBetweenDates and the my-bookings listing
+CREATE INDEX IF NOT EXISTS idx_bookings_user_date ON bookings (user_id, booking_date);
+
+-- Owner dashboards join bookings -> turfs on owner_id
+CREATE INDEX IF NOT EXISTS idx_turfs_owner ON turfs (owner_id);
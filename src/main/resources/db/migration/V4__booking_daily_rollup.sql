@@ -0,0 +1,43 @@
+-- Per turf-day booking counts and amounts, kept in step with bookings by BookingRollupService
+CREATE TABLE booking_daily_rollup (
+    turf_id           BIGINT NOT NULL REFERENCES turfs (id) ON DELETE CASCADE,
+    booking_date      DATE NOT NULL,
+    booking_count     BIGINT NOT NULL DEFAULT 0,
+    total_amount      NUMERIC(14, 2) NOT NULL DEFAULT 0,
+    pending_count     BIGINT NOT NULL DEFAULT 0,
+    pending_amount    NUMERIC(14, 2) NOT NULL DEFAULT 0,
+    confirmed_count   BIGINT NOT NULL DEFAULT 0,
+    confirmed_amount  NUMERIC(14, 2) NOT NULL DEFAULT 0,
+    cancelled_count   BIGINT NOT NULL DEFAULT 0,
+    cancelled_amount  NUMERIC(14, 2) NOT NULL DEFAULT 0,
+    completed_count   BIGINT NOT NULL DEFAULT 0,
+    completed_amount  NUMERIC(14, 2) NOT NULL DEFAULT 0,
+    online_count      BIGINT NOT NULL DEFAULT 0,
+    online_amount     NUMERIC(14, 2) NOT NULL DEFAULT 0,
+    offline_count     BIGINT NOT NULL DEFAULT 0,
+    offline_amount    NUMERIC(14, 2) NOT NULL DEFAULT 0,
+    updated_at        TIMESTAMP(6),
+    PRIMARY KEY (turf_id, booking_date)
+);
+
+-- Backfill from existing bookings; same statement as BookingRollupService.rebuild()
+INSERT INTO booking_daily_rollup (turf_id, booking_date, booking_count, total_amount,
+        pending_count, pending_amount, confirmed_count, confirmed_amount,
+        cancelled_count, cancelled_amount, completed_count, completed_amount,
+        online_count, online_amount, offline_count, offline_amount, updated_at)
+SELECT turf_id, booking_date, COUNT(*), COALESCE(SUM(total_amount), 0),
+       COUNT(CASE WHEN status = 'PENDING' THEN 1 END),
+       COALESCE(SUM(CASE WHEN status = 'PENDING' THEN total_amount END), 0),
+       COUNT(CASE WHEN status = 'CONFIRMED' THEN 1 END),
+       COALESCE(SUM(CASE WHEN status = 'CONFIRMED' THEN total_amount END), 0),
+       COUNT(CASE WHEN status = 'CANCELLED' THEN 1 END),
+       COALESCE(SUM(CASE WHEN status = 'CANCELLED' THEN total_amount END), 0),
+       COUNT(CASE WHEN status = 'COMPLETED' THEN 1 END),
+       COALESCE(SUM(CASE WHEN status = 'COMPLETED' THEN total_amount END), 0),
+       COUNT(CASE WHEN (booking_type IS NULL OR booking_type <> 'OFFLINE') THEN 1 END),
+       COALESCE(SUM(CASE WHEN (booking_type IS NULL OR booking_type <> 'OFFLINE') THEN total_amount END), 0),
+       COUNT(CASE WHEN booking_type = 'OFFLINE' THEN 1 END),
+       COALESCE(SUM(CASE WHEN booking_type = 'OFFLINE' THEN total_amount END), 0),
+       CURRENT_TIMESTAMP
+FROM bookings
+GROUP BY turf_id, booking_date;
@@ -0,0 +1,23 @@
+-- Per-user booking totals for /bookings/my-bookings/stats, kept in step by BookingRollupService
+CREATE TABLE user_booking_counters (
+    user_id          BIGINT PRIMARY KEY REFERENCES users (id) ON DELETE CASCADE,
+    booking_count    BIGINT NOT NULL DEFAULT 0,
+    total_spent      NUMERIC(14, 2) NOT NULL DEFAULT 0,
+    pending_count    BIGINT NOT NULL DEFAULT 0,
+    confirmed_count  BIGINT NOT NULL DEFAULT 0,
+    cancelled_count  BIGINT NOT NULL DEFAULT 0,
+    completed_count  BIGINT NOT NULL DEFAULT 0,
+    updated_at       TIMESTAMP(6)
+);
+
+-- Backfill from existing bookings; same statement as BookingRollupService.rebuild()
+INSERT INTO user_booking_counters (user_id, booking_count, total_spent,
+        pending_count, confirmed_count, cancelled_count, completed_count, updated_at)
+SELECT user_id, COUNT(*), COALESCE(SUM(total_amount), 0),
+       COUNT(CASE WHEN status = 'PENDING' THEN 1 END),
+       COUNT(CASE WHEN status = 'CONFIRMED' THEN 1 END),
+       COUNT(CASE WHEN status = 'CANCELLED' THEN 1 END),
+       COUNT(CASE WHEN status = 'COMPLETED' THEN 1 END),
+       CURRENT_TIMESTAMP
+FROM bookings
+GROUP BY user_id;
@@ -0,0 +1,21 @@
+-- Booked hours per turf, ISO weekday (1 = Monday) and hour of day, for confirmed and
+-- completed bookings. Checkpointed from memory by OccupancyHeatmapService
+CREATE TABLE turf_occupancy_heatmap (
+    turf_id       BIGINT NOT NULL REFERENCES turfs (id) ON DELETE CASCADE,
+    day_of_week   SMALLINT NOT NULL,
+    hour_of_day   SMALLINT NOT NULL,
+    booked_hours  BIGINT NOT NULL,
+    PRIMARY KEY (turf_id, day_of_week, hour_of_day)
+);
+
+-- Backfill: a booking occupies every hour it touches; one ending at or before its start runs to midnight
+INSERT INTO turf_occupancy_heatmap (turf_id, day_of_week, hour_of_day, booked_hours)
+SELECT b.turf_id, EXTRACT(ISODOW FROM b.booking_date)::SMALLINT, h.hour::SMALLINT, COUNT(*)
+FROM bookings b
+CROSS JOIN LATERAL generate_series(
+        EXTRACT(HOUR FROM b.start_time)::INT,
+        CASE WHEN b.end_time <= b.start_time THEN 23
+             ELSE CEIL((EXTRACT(HOUR FROM b.end_time) * 60 + EXTRACT(MINUTE FROM b.end_time)) / 60.0)::INT - 1
+        END) AS h(hour)
+WHERE b.status IN ('CONFIRMED', 'COMPLETED')
+GROUP BY b.turf_id, EXTRACT(ISODOW FROM b.booking_date), h.hour;
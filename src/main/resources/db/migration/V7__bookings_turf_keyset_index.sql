@@ -0,0 +1,3 @@
+-- Keyset pagination of a turf's bookings seeks on (booking_date, start_time, id), newest first
+CREATE INDEX IF NOT EXISTS idx_bookings_turf_keyset
+    ON bookings (turf_id, booking_date DESC, start_time DESC, id DESC);
@@ -0,0 +1,13 @@
+-- Added after the V1 baseline, so databases baselined at V1 get them here.
+-- IF NOT EXISTS covers databases where Hibernate's ddl-auto=update already created them.
+
+CREATE TABLE IF NOT EXISTS idempotency_records (
+    record_key     VARCHAR(512) PRIMARY KEY,
+    fingerprint    VARCHAR(64),
+    status_code    INTEGER,
+    response_body  TEXT,
+    created_at     TIMESTAMP(6) WITH TIME ZONE
+);
+
+-- Per turf-day slot lookups filtered by status
+CREATE INDEX IF NOT EXISTS idx_bookings_turf_date_status ON bookings (turf_id, booking_date, status);
@@ -0,0 +1,24 @@
+-- A slot ending at or before its start now ends at midnight of its own day, the same
+-- rule the availability index and SlotCalculator apply. V2 ran such slots into the
+-- next day, so the index showed next-morning slots as free while inserts there failed.
+-- New bookings must end after they start (00:00 counting as midnight), so only older
+-- rows change. Generated columns can't be altered in place, so the column and the
+-- constraint on it are recreated.
+
+ALTER TABLE bookings DROP CONSTRAINT IF EXISTS bookings_no_overlapping_slots;
+ALTER TABLE bookings DROP COLUMN IF EXISTS slot_range;
+
+ALTER TABLE bookings ADD COLUMN slot_range tsrange
+    GENERATED ALWAYS AS (tsrange(booking_date + start_time,
+        CASE WHEN end_time <= start_time THEN booking_date + 1 + TIME '00:00'
+             ELSE booking_date + end_time END, '[)')) STORED;
+
+DO $$
+BEGIN
+    ALTER TABLE bookings ADD CONSTRAINT bookings_no_overlapping_slots
+        EXCLUDE USING gist (turf_id WITH =, slot_range WITH &&)
+        WHERE (status IN ('PENDING', 'CONFIRMED') OR booking_type = 'OFFLINE');
+EXCEPTION
+    WHEN exclusion_violation THEN
+        RAISE WARNING 'bookings_no_overlapping_slots not installed: existing bookings overlap';
+END $$;
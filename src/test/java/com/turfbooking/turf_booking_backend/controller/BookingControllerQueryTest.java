@@ -0,0 +1,194 @@
+package com.turfbooking.turf_booking_backend.controller;
+
+import com.turfbooking.turf_booking_backend.config.BookingSchemaInspector;
+import com.turfbooking.turf_booking_backend.entity.Booking;
+import com.turfbooking.turf_booking_backend.entity.Turf;
+import com.turfbooking.turf_booking_backend.entity.User;
+import com.turfbooking.turf_booking_backend.repository.BookingRepository;
+import com.turfbooking.turf_booking_backend.repository.TurfRepository;
+import com.turfbooking.turf_booking_backend.repository.UserRepository;
+import com.turfbooking.turf_booking_backend.service.BookingCommandExecutor;
+import com.turfbooking.turf_booking_backend.service.BookingExportService;
+import com.turfbooking.turf_booking_backend.service.BookingService;
+import com.turfbooking.turf_booking_backend.service.BookingServiceTestConfiguration;
+import com.turfbooking.turf_booking_backend.service.IdempotencyService;
+import com.turfbooking.turf_booking_backend.service.TurfService;
+import com.turfbooking.turf_booking_backend.service.UserService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statements issued per request by the booking endpoints, counted with Hibernate statistics
+ * around a full MockMvc round trip: argument binding, the user lookup, the service call and
+ * JSON serialization of the response. Security filters are left out; the caller is put in
+ * the security context directly.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({BookingServiceTestConfiguration.class, BookingController.class, UserService.class,
+        IdempotencyService.class, BookingCommandExecutor.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BookingControllerQueryTest {
+
+    private static EmbeddedPostgres postgres;
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @MockBean
+    private PasswordEncoder passwordEncoder;
+
+    @MockBean
+    private TurfService turfService;
+
+    @MockBean
+    private BookingExportService bookingExportService;
+
+    @Autowired
+    private BookingController bookingController;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingSchemaInspector schemaInspector;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private TurfRepository turfRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private MockMvc mockMvc;
+    private Statistics statistics;
+    private User player;
+    private Turf turf;
+    private LocalDate date;
+    private Booking first;
+
+    @BeforeEach
+    void setUp() {
+        schemaInspector.refresh();
+        bookingRepository.deleteAll();
+        turfRepository.deleteAll();
+        userRepository.deleteAll();
+        User owner = new User("Turf", "Owner", "owner@example.com", "secret", "1111111111");
+        owner.setRole(User.Role.OWNER);
+        owner = userRepository.save(owner);
+        player = userRepository.save(new User("View", "Player", "player@example.com", "secret", "0000000000"));
+        turf = turfRepository.save(new Turf("View Turf", "", "View City", BigDecimal.valueOf(1000), owner));
+        date = LocalDate.now().plusDays(3);
+        first = bookingService.createBooking(player.getId(), turf.getId(), date,
+                LocalTime.of(6, 0), LocalTime.of(7, 0), "View Player", "0000000000", "player@example.com", "UPI");
+        bookingService.confirmBooking(first.getId());
+        bookingService.createBooking(player.getId(), turf.getId(), date.plusDays(1),
+                LocalTime.of(7, 0), LocalTime.of(8, 0), "View Player", "0000000000", "player@example.com", "UPI");
+
+        mockMvc = MockMvcBuilders.standaloneSetup(bookingController).build();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        signIn(player);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readEndpointsRunOneStatementEach() throws Exception {
+        assertEquals(1, statements(get("/bookings/my-bookings"), "$.length()", 2));
+        assertEquals(1, statements(get("/bookings/my-bookings/date-range")
+                .param("startDate", date.toString()).param("endDate", date.toString()), "$.length()", 1));
+        assertEquals(1, statements(get("/bookings/" + first.getId()), "$.turf.name", "View Turf"));
+        assertEquals(1, statements(get("/bookings/status/CONFIRMED"), "$.length()", 1));
+    }
+
+    // Mapping the created bookings to the response adds nothing to the write path's own statements
+    @Test
+    void createEndpointsIssueOnlyTheWritePathStatements() throws Exception {
+        // User by email and by id, turf, insert, then a locked read and an update of the
+        // day, payment mode and user rollup rows
+        assertEquals(10, statements(post("/bookings").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"turfId\":" + turf.getId() + ",\"bookingDate\":\"" + date + "\"," +
+                        "\"startTime\":\"18:00\",\"endTime\":\"19:00\",\"paymentMethod\":\"UPI\"}"),
+                "$.turf.name", "View Turf"));
+        // The same with one insert per slot
+        assertEquals(11, statements(post("/bookings/multi").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"turfId\":" + turf.getId() + ",\"bookingDate\":\"" + date + "\",\"paymentMethod\":\"UPI\"," +
+                        "\"slots\":[{\"startTime\":\"20:00\",\"endTime\":\"21:00\"}," +
+                        "{\"startTime\":\"21:00\",\"endTime\":\"22:00\"}]}"),
+                "$.length()", 2));
+
+        // The owner's first booking and first CASH booking of the day also create their
+        // payment mode and user rows: a missed lock, an insert and a second lock each
+        signIn(turf.getOwner());
+        assertEquals(16, statements(post("/bookings/offline").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"turfId\":" + turf.getId() + ",\"date\":\"" + date + "\"," +
+                        "\"startTime\":\"10:00\",\"endTime\":\"11:00\",\"amount\":750}"),
+                "$.bookingType", "OFFLINE"));
+    }
+
+    private void signIn(User user) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new TestingAuthenticationToken(user.getEmail(), null, "ROLE_" + user.getRole().name()));
+    }
+
+    // Performs the request, checks one field of the JSON response and returns the statements it took
+    private long statements(RequestBuilder request, String path, Object expected) throws Exception {
+        statistics.clear();
+        mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath(path).value(expected));
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,108 @@
+package com.turfbooking.turf_booking_backend.repository;
+
+import com.turfbooking.turf_booking_backend.entity.Booking;
+import com.turfbooking.turf_booking_backend.entity.Turf;
+import com.turfbooking.turf_booking_backend.entity.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Regression benchmark: the per-day slot query must stay one statement returning only
+ * the day's rows as a turf's booking history grows. Timings are logged, not asserted.
+ */
+@Tag("benchmark")
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class BookedSlotQueryBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(BookedSlotQueryBenchmarkTest.class);
+
+    private static final LocalDate TARGET_DATE = LocalDate.of(2030, 6, 1);
+    private static final int ITERATIONS = 300;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Test
+    void latencyStaysFlatAsHistoryGrows() {
+        // The schema here comes from the entities; the index lives in migration V8
+        entityManager.createNativeQuery("CREATE INDEX IF NOT EXISTS idx_bookings_turf_date_status " +
+                "ON bookings (turf_id, booking_date, status)").executeUpdate();
+        User user = new User("Bench", "User", "bench@example.com", "secret", "0000000000");
+        entityManager.persist(user);
+        Turf turf = new Turf("Bench Turf", "", "Bench City", BigDecimal.valueOf(1000), user);
+        entityManager.persist(turf);
+
+        for (int hour = 6; hour < 22; hour++) {
+            persist(user, turf, TARGET_DATE, hour);
+        }
+
+        seedHistory(user, turf, 0, 1_000);
+        long small = measure(turf.getId());
+
+        seedHistory(user, turf, 1_000, 30_000);
+        long large = measure(turf.getId());
+
+        log.info("findActiveSlotsByTurfAndDate: 1k history={}us/op, 30k history={}us/op",
+                small / 1_000, large / 1_000);
+    }
+
+    private void seedHistory(User user, Turf turf, int from, int to) {
+        for (int i = from; i < to; i++) {
+            persist(user, turf, TARGET_DATE.minusDays(1 + i / 16), 6 + i % 16);
+            if (i % 500 == 0) {
+                entityManager.flush();
+                entityManager.clear();
+                user = entityManager.getReference(User.class, user.getId());
+                turf = entityManager.getReference(Turf.class, turf.getId());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private void persist(User user, Turf turf, LocalDate date, int hour) {
+        Booking booking = new Booking(user, turf, date, LocalTime.of(hour, 0), LocalTime.of(hour + 1, 0));
+        booking.setStatus(Booking.BookingStatus.CONFIRMED);
+        entityManager.persist(booking);
+    }
+
+    private long measure(Long turfId) {
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        assertEquals(16, bookingRepository.findActiveSlotsByTurfAndDate(turfId, TARGET_DATE).size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+
+        // Warm up before timing
+        for (int i = 0; i < ITERATIONS; i++) {
+            bookingRepository.findActiveSlotsByTurfAndDate(turfId, TARGET_DATE);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            assertEquals(16, bookingRepository.findActiveSlotsByTurfAndDate(turfId, TARGET_DATE).size());
+        }
+        return (System.nanoTime() - start) / ITERATIONS;
+    }
+}
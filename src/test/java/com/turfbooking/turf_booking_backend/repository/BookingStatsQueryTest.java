@@ -0,0 +1,64 @@
+package com.turfbooking.turf_booking_backend.repository;
+
+import com.turfbooking.turf_booking_backend.entity.BookingPaymentModeRollup;
+import com.turfbooking.turf_booking_backend.entity.Turf;
+import com.turfbooking.turf_booking_backend.entity.User;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "spring.jpa.show-sql=false"
+})
+class BookingStatsQueryTest {
+
+    private static final LocalDate DATE = LocalDate.of(2030, 6, 1);
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private BookingPaymentModeRollupRepository paymentModeRepository;
+
+    @Test
+    void groupsByPaymentModeWithoutLosingPrecision() {
+        User user = new User("Stats", "User", "stats@example.com", "secret", "0000000000");
+        entityManager.persist(user);
+        Turf turf = new Turf("Stats Turf", "", "Stats City", BigDecimal.valueOf(1000), user);
+        entityManager.persist(turf);
+
+        persist(turf, DATE, "UPI", 2, "2000.30");
+        persist(turf, DATE.plusDays(1), "UPI", 1, "500.00");
+        persist(turf, DATE, BookingPaymentModeRollup.UNKNOWN, 1, null);
+        // Every CASH booking was deleted again
+        persist(turf, DATE, "CASH", 0, "0.00");
+        entityManager.flush();
+
+        List<BookingPaymentModeRollupRepository.PaymentModeTotals> rows = paymentModeRepository.sumByPaymentMode();
+        assertEquals(2, rows.size());
+
+        BookingPaymentModeRollupRepository.PaymentModeTotals upi = rows.stream()
+                .filter(r -> "UPI".equals(r.getPaymentMode()))
+                .findFirst().orElseThrow();
+        assertEquals(3, upi.getBookingCount());
+        assertEquals(0, new BigDecimal("2500.30").compareTo(upi.getTotalAmount()));
+    }
+
+    private void persist(Turf turf, LocalDate date, String mode, int bookings, String amount) {
+        BookingPaymentModeRollup row = new BookingPaymentModeRollup(turf.getId(), date, mode);
+        for (int i = 0; i < bookings; i++) {
+            row.add(i == 0 && amount != null ? new BigDecimal(amount) : null, 1);
+        }
+        entityManager.persist(row);
+    }
+}
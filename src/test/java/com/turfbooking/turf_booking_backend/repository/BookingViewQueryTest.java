@@ -0,0 +1,115 @@
+package com.turfbooking.turf_booking_backend.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.turfbooking.turf_booking_backend.dto.BookingViewDTO;
+import com.turfbooking.turf_booking_backend.entity.Booking;
+import com.turfbooking.turf_booking_backend.entity.Turf;
+import com.turfbooking.turf_booking_backend.entity.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        // The embedded DataSource hands out auto-commit connections; let each test roll back
+        "spring.jpa.properties.hibernate.connection.provider_disables_autocommit=false"
+})
+class BookingViewQueryTest {
+
+    private static final LocalDate DATE = LocalDate.of(2030, 6, 1);
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private Statistics statistics;
+    private User player;
+    private Turf turf;
+    private Booking first;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        User owner = new User("Turf", "Owner", "owner@example.com", "secret", "1111111111");
+        entityManager.persist(owner);
+        player = new User("View", "Player", "player@example.com", "secret", "0000000000");
+        entityManager.persist(player);
+        turf = new Turf("View Turf", "", "View City", BigDecimal.valueOf(1000), owner);
+        entityManager.persist(turf);
+        for (int hour = 6; hour < 10; hour++) {
+            Booking booking = new Booking(player, turf, DATE.plusDays(hour % 2), LocalTime.of(hour, 0), LocalTime.of(hour + 1, 0));
+            booking.setStatus(hour % 2 == 0 ? Booking.BookingStatus.CONFIRMED : Booking.BookingStatus.PENDING);
+            booking.setTotalAmount(BigDecimal.valueOf(1000));
+            entityManager.persist(booking);
+            if (first == null) {
+                first = booking;
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void eachEndpointQueryIsOneStatementIncludingSerialization() throws Exception {
+        assertEquals(4, serializedWithStatements(1, () -> bookingRepository.findViewsByUserEmail("player@example.com")).size());
+        assertEquals(2, serializedWithStatements(1, () ->
+                bookingRepository.findViewsByUserEmailBetweenDates("player@example.com", DATE, DATE)).size());
+        assertEquals(2, serializedWithStatements(1, () ->
+                bookingRepository.findViewsByStatus(Booking.BookingStatus.CONFIRMED)).size());
+        assertEquals(1, serializedWithStatements(1, () ->
+                List.of(bookingRepository.findViewById(first.getId()).orElseThrow())).size());
+    }
+
+    @Test
+    void viewCarriesTurfAndBookerButNotOwnerOrCredentials() throws Exception {
+        BookingViewDTO view = bookingRepository.findViewById(first.getId()).orElseThrow();
+
+        assertEquals("View Turf", view.turf().name());
+        assertEquals(player.getId(), view.user().id());
+        String json = objectMapper.writeValueAsString(view);
+        assertFalse(json.contains("secret"));
+        assertFalse(json.contains("owner@example.com"));
+    }
+
+    @Test
+    void freshlyWrittenBookingMapsWithoutQueries() throws Exception {
+        User user = entityManager.find(User.class, player.getId());
+        Turf loaded = entityManager.find(Turf.class, turf.getId());
+        Booking booking = new Booking(user, loaded, DATE.plusDays(5), LocalTime.of(18, 0), LocalTime.of(19, 0));
+        entityManager.persist(booking);
+        entityManager.flush();
+
+        assertEquals(1, serializedWithStatements(0, () -> List.of(BookingViewDTO.from(booking))).size());
+    }
+
+    // Runs the query, serializes the result as the controller would and checks the statement count
+    private List<BookingViewDTO> serializedWithStatements(long expected, Supplier<List<BookingViewDTO>> query) throws Exception {
+        statistics.clear();
+        List<BookingViewDTO> views = query.get();
+        objectMapper.writeValueAsString(views);
+        assertEquals(expected, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        return views;
+    }
+}
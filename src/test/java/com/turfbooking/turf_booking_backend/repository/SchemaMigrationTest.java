@@ -0,0 +1,110 @@
+package com.turfbooking.turf_booking_backend.repository;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Context startup runs every migration and then Hibernate schema validation against the result
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class SchemaMigrationTest {
+
+    private static EmbeddedPostgres postgres;
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void allMigrationsApplySuccessfully() {
+        List<String> versions = jdbcTemplate.queryForList(
+                "SELECT version FROM flyway_schema_history WHERE success ORDER BY installed_rank", String.class);
+        assertEquals(List.of("1", "2", "3", "4", "5", "6", "7", "8", "9", "10"), versions);
+    }
+
+    // A database created by Hibernate before Flyway is baselined at V1 and must end up with the
+    // same schema as a fresh one, which context startup has validated against the entities
+    @Test
+    void existingDatabaseIsBaselinedToTheSameSchema() throws Exception {
+        try (EmbeddedPostgres existing = EmbeddedPostgres.start()) {
+            try (Connection connection = existing.getPostgresDatabase().getConnection()) {
+                ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/migration/V1__baseline_schema.sql"));
+            }
+            Flyway.configure()
+                    .dataSource(existing.getPostgresDatabase())
+                    .locations("classpath:db/migration")
+                    .baselineOnMigrate(true)
+                    .baselineVersion("1")
+                    .load()
+                    .migrate();
+
+            JdbcTemplate upgraded = new JdbcTemplate(existing.getPostgresDatabase());
+            assertEquals(List.of("BASELINE", "SQL", "SQL", "SQL", "SQL", "SQL", "SQL", "SQL", "SQL", "SQL"), upgraded.queryForList(
+                    "SELECT type FROM flyway_schema_history ORDER BY installed_rank", String.class));
+            assertEquals(columns(jdbcTemplate), columns(upgraded));
+            assertEquals(indexes(jdbcTemplate), indexes(upgraded));
+        }
+    }
+
+    @Test
+    void hotPathIndexesExist() {
+        List<String> indexes = jdbcTemplate.queryForList(
+                "SELECT indexname FROM pg_indexes WHERE schemaname = 'public'", String.class);
+
+        assertTrue(indexes.containsAll(List.of(
+                "idx_bookings_turf_date_status",
+                "idx_bookings_turf_date_active",
+                "idx_bookings_user_date",
+                "idx_turfs_owner")), indexes.toString());
+    }
+
+    @Test
+    void activeSlotIndexIsPartial() {
+        String definition = jdbcTemplate.queryForObject(
+                "SELECT indexdef FROM pg_indexes WHERE indexname = 'idx_bookings_turf_date_active'", String.class);
+        assertTrue(definition.contains("WHERE"), definition);
+    }
+
+    @Test
+    void slotExclusionConstraintIsInstalled() {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_constraint WHERE conname = 'bookings_no_overlapping_slots'", Integer.class);
+        assertEquals(1, count);
+    }
+
+    private static List<String> columns(JdbcTemplate jdbc) {
+        return jdbc.queryForList("SELECT table_name || '.' || column_name || ':' || data_type FROM information_schema.columns "
+                + "WHERE table_schema = 'public' AND table_name <> 'flyway_schema_history' "
+                + "ORDER BY table_name, column_name", String.class);
+    }
+
+    private static List<String> indexes(JdbcTemplate jdbc) {
+        return jdbc.queryForList("SELECT indexname FROM pg_indexes WHERE schemaname = 'public' "
+                + "AND tablename <> 'flyway_schema_history' ORDER BY indexname", String.class);
+    }
+}
@@ -0,0 +1,214 @@
+package com.turfbooking.turf_booking_backend.service;
+
+import com.turfbooking.turf_booking_backend.dto.SlotChangeDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AvailabilityBroadcasterTest {
+
+    private static final LocalDate DATE = LocalDate.of(2030, 1, 5);
+
+    @Test
+    void unknownVersionStartsWithReset() {
+        AvailabilityBroadcaster broadcaster = new AvailabilityBroadcaster(16, 60_000, 600_000);
+
+        AvailabilityBroadcaster.Delta first = broadcaster.changesSince(1L, DATE, 0);
+        assertNull(first.changes());
+
+        assertTrue(broadcaster.changesSince(1L, DATE, first.version()).isUnchanged());
+    }
+
+    @Test
+    void returnsOnlyChangesAfterSinceVersion() {
+        AvailabilityBroadcaster broadcaster = new AvailabilityBroadcaster(16, 60_000, 600_000);
+        long start = broadcaster.changesSince(1L, DATE, 0).version();
+
+        broadcaster.publish(1L, DATE, List.of(LocalTime.of(18, 0), LocalTime.of(19, 0)), t -> true);
+        AvailabilityBroadcaster.Delta afterBooking = broadcaster.changesSince(1L, DATE, start);
+        assertEquals(2, afterBooking.changes().size());
+        assertTrue(afterBooking.changes().get(0).getVersion() < afterBooking.changes().get(1).getVersion());
+        assertEquals(afterBooking.changes().get(1).getVersion(), afterBooking.version());
+
+        broadcaster.publish(1L, DATE, List.of(LocalTime.of(18, 0)), t -> false);
+        List<SlotChangeDTO> afterCancel = broadcaster.changesSince(1L, DATE, afterBooking.version()).changes();
+        assertEquals(1, afterCancel.size());
+        assertEquals(LocalTime.of(18, 0), afterCancel.get(0).getStartTime());
+        assertFalse(afterCancel.get(0).isTaken());
+    }
+
+    @Test
+    void unobservedDaysRecordNothing() {
+        AvailabilityBroadcaster broadcaster = new AvailabilityBroadcaster(16, 60_000, 600_000);
+
+        broadcaster.publish(2L, DATE, List.of(LocalTime.of(10, 0)), t -> true);
+
+        assertFalse(broadcaster.isObserved(2L, DATE));
+    }
+
+    @Test
+    void versionOlderThanHistoryForcesReset() {
+        AvailabilityBroadcaster broadcaster = new AvailabilityBroadcaster(2, 60_000, 600_000);
+        long start = broadcaster.changesSince(1L, DATE, 0).version();
+
+        broadcaster.publish(1L, DATE, List.of(LocalTime.of(8, 0), LocalTime.of(9, 0), LocalTime.of(10, 0)), t -> true);
+
+        assertNull(broadcaster.changesSince(1L, DATE, start).changes());
+    }
+
+    @Test
+    void newSubscriberGetsSnapshotThenLiveChanges() {
+        AvailabilityBroadcaster broadcaster = recording(16, 600_000);
+
+        RecordingEmitter emitter = subscribe(broadcaster, null, () -> List.of(LocalTime.of(18, 0)));
+        AvailabilityBroadcaster.Snapshot snapshot = (AvailabilityBroadcaster.Snapshot) emitter.received.get(0);
+        assertEquals(List.of(LocalTime.of(18, 0)), snapshot.bookedStartTimes());
+
+        broadcaster.publish(1L, DATE, List.of(LocalTime.of(19, 0)), t -> true);
+        awaitUntil(() -> emitter.received.size() == 2);
+        SlotChangeDTO change = (SlotChangeDTO) emitter.received.get(1);
+        assertEquals(LocalTime.of(19, 0), change.getStartTime());
+        assertTrue(change.isTaken());
+        assertTrue(change.getVersion() > snapshot.version());
+    }
+
+    @Test
+    void lastEventIdResumesWithTheMissedChanges() {
+        AvailabilityBroadcaster broadcaster = recording(16, 600_000);
+        long seen = broadcaster.changesSince(1L, DATE, 0).version();
+        broadcaster.publish(1L, DATE, List.of(LocalTime.of(8, 0), LocalTime.of(9, 0)), t -> true);
+
+        RecordingEmitter emitter = subscribe(broadcaster, seen, () -> {
+            throw new AssertionError("resume must not take a snapshot");
+        });
+
+        assertEquals(List.of(LocalTime.of(8, 0), LocalTime.of(9, 0)), emitter.received.stream()
+                .map(event -> ((SlotChangeDTO) event).getStartTime()).toList());
+    }
+
+    @Test
+    void lastEventIdOutsideTheHistoryFallsBackToSnapshot() {
+        AvailabilityBroadcaster broadcaster = recording(2, 600_000);
+        long seen = broadcaster.changesSince(1L, DATE, 0).version();
+        broadcaster.publish(1L, DATE, List.of(LocalTime.of(8, 0), LocalTime.of(9, 0), LocalTime.of(10, 0)), t -> true);
+
+        RecordingEmitter trimmed = subscribe(broadcaster, seen, () -> List.of(LocalTime.of(8, 0)));
+        RecordingEmitter fromTheFuture = subscribe(broadcaster, Long.MAX_VALUE, List::of);
+
+        assertInstanceOf(AvailabilityBroadcaster.Snapshot.class, trimmed.received.get(0));
+        assertInstanceOf(AvailabilityBroadcaster.Snapshot.class, fromTheFuture.received.get(0));
+        assertEquals(1, trimmed.received.size());
+    }
+
+    @Test
+    void heartbeatReachesLiveStreamsAndDropsDeadOnes() {
+        AvailabilityBroadcaster broadcaster = recording(16, 600_000);
+        RecordingEmitter live = subscribe(broadcaster, null, List::of);
+        RecordingEmitter dead = subscribe(broadcaster, null, List::of);
+        dead.dead = true;
+
+        broadcaster.heartbeat();
+        awaitUntil(() -> dead.closed && live.received.contains(":heartbeat"));
+
+        broadcaster.publish(1L, DATE, List.of(LocalTime.of(7, 0)), t -> true);
+        awaitUntil(() -> live.received.size() == 3);
+        assertFalse(live.closed);
+        assertEquals(1, dead.received.size());
+    }
+
+    @Test
+    void unwatchedChannelsExpireAfterTheIdleTimeout() {
+        AvailabilityBroadcaster patient = new AvailabilityBroadcaster(16, 60_000, 600_000);
+        patient.changesSince(1L, DATE, 0);
+        patient.changesSince(1L, LocalDate.now().minusDays(1), 0);
+        patient.heartbeat();
+        assertTrue(patient.isObserved(1L, DATE));
+        assertFalse(patient.isObserved(1L, LocalDate.now().minusDays(1)));
+
+        AvailabilityBroadcaster impatient = recording(16, 0);
+        impatient.changesSince(2L, DATE, 0);
+        RecordingEmitter subscriber = subscribe(impatient, null, List::of);
+        impatient.heartbeat();
+        assertFalse(impatient.isObserved(2L, DATE));
+        assertTrue(impatient.isObserved(1L, DATE));
+
+        // Once its only subscriber is gone, the channel goes on the next heartbeat
+        subscriber.dead = true;
+        impatient.heartbeat();
+        awaitUntil(() -> subscriber.closed);
+        impatient.heartbeat();
+        assertFalse(impatient.isObserved(1L, DATE));
+    }
+
+    @Test
+    void slotStartsCoverEveryHourIncludingMidnightWrap() {
+        assertEquals(List.of(LocalTime.of(18, 0), LocalTime.of(19, 0)),
+                AvailabilityBroadcaster.slotStarts(LocalTime.of(18, 0), LocalTime.of(20, 0)));
+        assertEquals(List.of(LocalTime.of(23, 0)),
+                AvailabilityBroadcaster.slotStarts(LocalTime.of(23, 0), LocalTime.of(0, 0)));
+    }
+
+    private static AvailabilityBroadcaster recording(int historySize, long channelIdleMillis) {
+        return new AvailabilityBroadcaster(historySize, 60_000, channelIdleMillis) {
+            @Override
+            SseEmitter createEmitter() {
+                return new RecordingEmitter();
+            }
+        };
+    }
+
+    private static RecordingEmitter subscribe(AvailabilityBroadcaster broadcaster, Long lastEventId,
+                                              Supplier<List<LocalTime>> snapshot) {
+        return (RecordingEmitter) broadcaster.subscribe(1L, DATE, lastEventId, snapshot);
+    }
+
+    // Fan-out and heartbeats run on virtual threads
+    private static void awaitUntil(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "timed out waiting for the stream");
+            Thread.onSpinWait();
+        }
+    }
+
+    // Keeps event payloads and comments instead of writing to a response; a dead one fails like a closed socket
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final List<Object> received = new CopyOnWriteArrayList<>();
+        private volatile boolean dead;
+        private volatile boolean closed;
+
+        @Override
+        public void send(SseEventBuilder event) throws IOException {
+            if (dead) {
+                throw new IOException("Broken pipe");
+            }
+            for (DataWithMediaType item : event.build()) {
+                if (!(item.getData() instanceof String text)) {
+                    received.add(item.getData());
+                } else if (text.startsWith(":")) {
+                    received.add(text.trim());
+                }
+            }
+        }
+
+        @Override
+        public synchronized void complete() {
+            closed = true;
+        }
+    }
+}
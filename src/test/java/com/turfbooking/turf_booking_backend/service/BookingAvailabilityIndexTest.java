@@ -0,0 +1,255 @@
+package com.turfbooking.turf_booking_backend.service;
+
+import com.turfbooking.turf_booking_backend.entity.Booking;
+import com.turfbooking.turf_booking_backend.entity.Turf;
+import com.turfbooking.turf_booking_backend.repository.BookingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingAvailabilityIndexTest {
+
+    private static final LocalDate DATE = LocalDate.of(2030, 1, 5);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @InjectMocks
+    private BookingAvailabilityIndex index;
+
+    private Turf turf;
+
+    @BeforeEach
+    void setUp() {
+        turf = new Turf();
+        turf.setId(1L);
+        ReflectionTestUtils.setField(index, "maxDays", 100);
+        ReflectionTestUtils.setField(index, "dayIdleMillis", 60_000L);
+    }
+
+    @Test
+    void loadsDayOnceAndServesFromMemory() {
+        when(bookingRepository.findActiveSlotsByTurfAndDate(1L, DATE))
+                .thenReturn(List.of(slot(10L, 18, 19)));
+
+        assertFalse(index.isAvailable(1L, DATE, LocalTime.of(18, 30), LocalTime.of(19, 30)));
+        assertTrue(index.isAvailable(1L, DATE, LocalTime.of(19, 0), LocalTime.of(20, 0)));
+        assertEquals(List.of(LocalTime.of(18, 0)), index.getBookedStartTimes(1L, DATE));
+
+        verify(bookingRepository, times(1)).findActiveSlotsByTurfAndDate(1L, DATE);
+    }
+
+    @Test
+    void createAndCancelUpdateLoadedDay() {
+        when(bookingRepository.findActiveSlotsByTurfAndDate(1L, DATE)).thenReturn(List.of());
+        assertTrue(index.isAvailable(1L, DATE, LocalTime.of(20, 0), LocalTime.of(21, 0)));
+
+        Booking booking = booking(11L, 20, 21, Booking.BookingStatus.PENDING);
+        index.record(booking);
+        assertFalse(index.isAvailable(1L, DATE, LocalTime.of(20, 0), LocalTime.of(21, 0)));
+
+        booking.setStatus(Booking.BookingStatus.CANCELLED);
+        index.record(booking);
+        assertTrue(index.isAvailable(1L, DATE, LocalTime.of(20, 0), LocalTime.of(21, 0)));
+    }
+
+    @Test
+    void removingOneBookingKeepsOverlappingOneBlocked() {
+        when(bookingRepository.findActiveSlotsByTurfAndDate(1L, DATE)).thenReturn(List.of(
+                slot(12L, 22, 23),
+                slot(13L, 22, 23)));
+        assertFalse(index.isAvailable(1L, DATE, LocalTime.of(22, 0), LocalTime.of(23, 0)));
+
+        index.remove(12L);
+        assertFalse(index.isAvailable(1L, DATE, LocalTime.of(22, 0), LocalTime.of(23, 0)));
+
+        index.remove(13L);
+        assertTrue(index.isAvailable(1L, DATE, LocalTime.of(22, 0), LocalTime.of(23, 0)));
+    }
+
+    @Test
+    void slotEndingAtMidnightBlocksUntilEndOfDay() {
+        when(bookingRepository.findActiveSlotsByTurfAndDate(1L, DATE))
+                .thenReturn(List.of(slot(14L, 23, 0)));
+
+        assertFalse(index.isAvailable(1L, DATE, LocalTime.of(23, 30), LocalTime.of(0, 0)));
+        assertTrue(index.isAvailable(1L, DATE, LocalTime.of(22, 0), LocalTime.of(23, 0)));
+    }
+
+    @Test
+    void reconcilePicksUpMissedWrites() {
+        when(bookingRepository.findActiveSlotsByTurfAndDate(1L, DATE)).thenReturn(List.of());
+        assertTrue(index.isAvailable(1L, DATE, LocalTime.of(7, 0), LocalTime.of(8, 0)));
+
+        when(bookingRepository.findActiveSlotsByTurfsAndDate(List.of(1L), DATE))
+                .thenReturn(List.of(turfSlot(1L, 15L, 7, 8)));
+        index.reconcile();
+
+        assertFalse(index.isAvailable(1L, DATE, LocalTime.of(7, 0), LocalTime.of(8, 0)));
+    }
+
+    @Test
+    void bookingCommittedDuringLoadIsNotLostToTheOlderSnapshot() {
+        Booking booking = booking(16L, 9, 10, Booking.BookingStatus.CONFIRMED);
+        // The booking commits and is recorded after the first query has read the day
+        when(bookingRepository.findActiveSlotsByTurfAndDate(1L, DATE))
+                .thenAnswer(invocation -> {
+                    index.record(booking);
+                    return List.of();
+                })
+                .thenReturn(List.of(slot(16L, 9, 10)));
+
+        assertFalse(index.isAvailable(1L, DATE, LocalTime.of(9, 0), LocalTime.of(10, 0)));
+        verify(bookingRepository, times(2)).findActiveSlotsByTurfAndDate(1L, DATE);
+    }
+
+    @Test
+    void loadThatKeepsLosingMergesRecordedBookings() {
+        Booking booking = booking(17L, 9, 10, Booking.BookingStatus.CONFIRMED);
+        when(bookingRepository.findActiveSlotsByTurfAndDate(1L, DATE))
+                .thenAnswer(invocation -> {
+                    index.record(booking);
+                    return List.of(slot(18L, 12, 13));
+                });
+
+        assertFalse(index.isAvailable(1L, DATE, LocalTime.of(9, 0), LocalTime.of(10, 0)));
+        assertFalse(index.isAvailable(1L, DATE, LocalTime.of(12, 0), LocalTime.of(13, 0)));
+        verify(bookingRepository, times(BookingAvailabilityIndex.MAX_LOAD_ATTEMPTS)).findActiveSlotsByTurfAndDate(1L, DATE);
+    }
+
+    @Test
+    void reconcileDoesNotWipeBookingsRecordedWhileItQueried() {
+        when(bookingRepository.findActiveSlotsByTurfAndDate(1L, DATE)).thenReturn(List.of());
+        assertTrue(index.isAvailable(1L, DATE, LocalTime.of(9, 0), LocalTime.of(10, 0)));
+
+        Booking booking = booking(19L, 9, 10, Booking.BookingStatus.PENDING);
+        when(bookingRepository.findActiveSlotsByTurfsAndDate(List.of(1L), DATE))
+                .thenAnswer(invocation -> {
+                    index.record(booking);
+                    return List.of();
+                });
+        index.reconcile();
+
+        assertFalse(index.isAvailable(1L, DATE, LocalTime.of(9, 0), LocalTime.of(10, 0)));
+    }
+
+    @Test
+    void deleteDuringLoadDropsTheBookingFromTheSnapshot() {
+        Booking booking = booking(20L, 9, 10, Booking.BookingStatus.CONFIRMED);
+        when(bookingRepository.findActiveSlotsByTurfAndDate(1L, DATE))
+                .thenAnswer(invocation -> {
+                    index.remove(booking);
+                    return List.of(slot(20L, 9, 10));
+                })
+                .thenReturn(List.of());
+
+        assertTrue(index.isAvailable(1L, DATE, LocalTime.of(9, 0), LocalTime.of(10, 0)));
+    }
+
+    @Test
+    void searchAcrossTurfsLoadsMissingDaysInOneQuery() {
+        when(bookingRepository.findActiveSlotsByTurfsAndDate(List.of(1L, 2L, 3L), DATE))
+                .thenReturn(List.of(turfSlot(2L, 16L, 18, 20)));
+
+        assertEquals(List.of(1L, 3L),
+                index.findAvailableTurfs(List.of(1L, 2L, 3L), DATE, LocalTime.of(19, 0), LocalTime.of(20, 0)));
+        assertEquals(List.of(1L, 2L, 3L),
+                index.findAvailableTurfs(List.of(1L, 2L, 3L), DATE, LocalTime.of(20, 0), LocalTime.of(21, 0)));
+
+        verify(bookingRepository, times(1)).findActiveSlotsByTurfsAndDate(List.of(1L, 2L, 3L), DATE);
+        verify(bookingRepository, never()).findActiveSlotsByTurfAndDate(anyLong(), any());
+    }
+
+    @Test
+    void reconcileRefreshesEachDateWithOneQuery() {
+        when(bookingRepository.findActiveSlotsByTurfsAndDate(List.of(1L, 2L), DATE)).thenReturn(List.of());
+        when(bookingRepository.findActiveSlotsByTurfsAndDate(List.of(1L), DATE.plusDays(1))).thenReturn(List.of());
+        index.findAvailableTurfs(List.of(1L, 2L), DATE, LocalTime.of(6, 0), LocalTime.of(7, 0));
+        index.findAvailableTurfs(List.of(1L), DATE.plusDays(1), LocalTime.of(6, 0), LocalTime.of(7, 0));
+
+        when(bookingRepository.findActiveSlotsByTurfsAndDate(any(), any())).thenAnswer(invocation ->
+                DATE.equals(invocation.getArgument(1)) ? List.of(turfSlot(2L, 21L, 6, 7)) : List.of());
+        index.reconcile();
+
+        assertEquals(List.of(1L), index.findAvailableTurfs(List.of(1L, 2L), DATE, LocalTime.of(6, 0), LocalTime.of(7, 0)));
+        verify(bookingRepository, times(4)).findActiveSlotsByTurfsAndDate(any(), any());
+        verify(bookingRepository, never()).findActiveSlotsByTurfAndDate(anyLong(), any());
+    }
+
+    @Test
+    void leastRecentlyReadDaysAreDroppedPastTheLimit() throws Exception {
+        ReflectionTestUtils.setField(index, "maxDays", 10);
+        when(bookingRepository.findActiveSlotsByTurfAndDate(anyLong(), any())).thenReturn(List.of());
+        index.isAvailable(1L, DATE, LocalTime.of(6, 0), LocalTime.of(7, 0));
+        for (long turfId = 2; turfId <= 10; turfId++) {
+            Thread.sleep(2);
+            index.isAvailable(turfId, DATE, LocalTime.of(6, 0), LocalTime.of(7, 0));
+        }
+        // Turf 1 is read again, so turf 2 is now the least recently read
+        Thread.sleep(2);
+        index.isAvailable(1L, DATE, LocalTime.of(6, 0), LocalTime.of(7, 0));
+
+        index.isAvailable(11L, DATE, LocalTime.of(6, 0), LocalTime.of(7, 0));
+        index.isAvailable(1L, DATE, LocalTime.of(6, 0), LocalTime.of(7, 0));
+        index.isAvailable(2L, DATE, LocalTime.of(6, 0), LocalTime.of(7, 0));
+
+        verify(bookingRepository, times(1)).findActiveSlotsByTurfAndDate(1L, DATE);
+        verify(bookingRepository, times(2)).findActiveSlotsByTurfAndDate(2L, DATE);
+    }
+
+    @Test
+    void reconcileDropsDaysNobodyReadRecently() {
+        ReflectionTestUtils.setField(index, "dayIdleMillis", -60_000L);
+        when(bookingRepository.findActiveSlotsByTurfAndDate(1L, DATE)).thenReturn(List.of());
+        index.isAvailable(1L, DATE, LocalTime.of(6, 0), LocalTime.of(7, 0));
+
+        index.reconcile();
+        index.isAvailable(1L, DATE, LocalTime.of(6, 0), LocalTime.of(7, 0));
+
+        verify(bookingRepository, never()).findActiveSlotsByTurfsAndDate(any(), any());
+        verify(bookingRepository, times(2)).findActiveSlotsByTurfAndDate(1L, DATE);
+    }
+
+    private BookingRepository.BookedSlot slot(Long id, int startHour, int endHour) {
+        return new BookingRepository.BookedSlot() {
+            public Long getId() { return id; }
+            public LocalTime getStartTime() { return LocalTime.of(startHour, 0); }
+            public LocalTime getEndTime() { return LocalTime.of(endHour, 0); }
+        };
+    }
+
+    private BookingRepository.TurfBookedSlot turfSlot(Long turfId, Long id, int startHour, int endHour) {
+        return new BookingRepository.TurfBookedSlot() {
+            public Long getTurfId() { return turfId; }
+            public Long getId() { return id; }
+            public LocalTime getStartTime() { return LocalTime.of(startHour, 0); }
+            public LocalTime getEndTime() { return LocalTime.of(endHour, 0); }
+        };
+    }
+
+    private Booking booking(Long id, int startHour, int endHour, Booking.BookingStatus status) {
+        Booking booking = new Booking(null, turf, DATE, LocalTime.of(startHour, 0), LocalTime.of(endHour, 0));
+        ReflectionTestUtils.setField(booking, "id", id);
+        booking.setStatus(status);
+        return booking;
+    }
+}
@@ -0,0 +1,103 @@
+package com.turfbooking.turf_booking_backend.service;
+
+import com.turfbooking.turf_booking_backend.dto.AvailabilityCalendarDTO;
+import com.turfbooking.turf_booking_backend.repository.BookingRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingCalendarTest {
+
+    private static final LocalDate FROM = LocalDate.of(2030, 3, 1);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private SlotHoldService slotHoldService;
+
+    @InjectMocks
+    private BookingService bookingService;
+
+    @Test
+    void foldsOneRangeQueryIntoHourMasksPerDay() {
+        LocalDate to = FROM.plusDays(2);
+        when(bookingRepository.findActiveSlotsByTurfAndDateRange(1L, FROM, to)).thenReturn(List.of(
+                slot(FROM, 6, 0, 7, 0),
+                slot(FROM, 18, 30, 20, 0),
+                slot(to, 9, 0, 10, 0)));
+        when(slotHoldService.getHeldStartTimes(eq(1L), any())).thenAnswer(invocation ->
+                to.equals(invocation.getArgument(1)) ? List.of(LocalTime.of(11, 0)) : List.of());
+
+        AvailabilityCalendarDTO calendar = bookingService.getAvailabilityCalendar(1L, FROM, to);
+
+        assertEquals(List.of(FROM, FROM.plusDays(1), to), List.copyOf(calendar.getBookedHours().keySet()));
+        assertEquals(1 << 6 | 1 << 18 | 1 << 19, calendar.getBookedHours().get(FROM));
+        assertEquals(0, calendar.getBookedHours().get(FROM.plusDays(1)));
+        assertEquals(1 << 9 | 1 << 11, calendar.getBookedHours().get(to));
+        verify(bookingRepository).findActiveSlotsByTurfAndDateRange(1L, FROM, to);
+        verifyNoMoreInteractions(bookingRepository);
+    }
+
+    @Test
+    void slotsEndingAtOrBeforeTheirStartStopAtMidnight() {
+        LocalDate to = FROM.plusDays(1);
+        // An older row ending at 01:00 is capped like the slot_range column, so the next day stays free
+        when(bookingRepository.findActiveSlotsByTurfAndDateRange(1L, FROM, to)).thenReturn(List.of(
+                slot(FROM, 22, 0, 0, 0),
+                slot(FROM, 23, 0, 1, 0)));
+
+        AvailabilityCalendarDTO calendar = bookingService.getAvailabilityCalendar(1L, FROM, to);
+
+        assertEquals(1 << 22 | 1 << 23, calendar.getBookedHours().get(FROM));
+        assertEquals(0, calendar.getBookedHours().get(to));
+    }
+
+    @Test
+    void rangeIsCappedAtThirtyOneDays() {
+        when(bookingRepository.findActiveSlotsByTurfAndDateRange(1L, FROM, FROM.plusDays(30))).thenReturn(List.of());
+        assertEquals(31, bookingService.getAvailabilityCalendar(1L, FROM, FROM.plusDays(30)).getBookedHours().size());
+
+        RuntimeException tooLong = assertThrows(RuntimeException.class,
+                () -> bookingService.getAvailabilityCalendar(1L, FROM, FROM.plusDays(31)));
+        assertEquals("Date range cannot exceed 31 days", tooLong.getMessage());
+        assertThrows(RuntimeException.class, () -> bookingService.getAvailabilityCalendar(1L, FROM, FROM.minusDays(1)));
+        verify(bookingRepository).findActiveSlotsByTurfAndDateRange(1L, FROM, FROM.plusDays(30));
+        verifyNoMoreInteractions(bookingRepository);
+    }
+
+    @Test
+    void availableTurfSearchStaysWithinTheCalendarWindow() {
+        LocalDate tooFar = LocalDate.now().plusDays(32);
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> bookingService.findAvailableTurfs(
+                null, tooFar, LocalTime.of(18, 0), LocalTime.of(19, 0)));
+        assertEquals("Date cannot be more than 31 days ahead", e.getMessage());
+        verifyNoMoreInteractions(bookingRepository);
+    }
+
+    private static BookingRepository.BookedDaySlot slot(LocalDate date, int startHour, int startMinute,
+                                                        int endHour, int endMinute) {
+        return new BookingRepository.BookedDaySlot() {
+            public Long getId() { return null; }
+            public LocalDate getBookingDate() { return date; }
+            public LocalTime getStartTime() { return LocalTime.of(startHour, startMinute); }
+            public LocalTime getEndTime() { return LocalTime.of(endHour, endMinute); }
+        };
+    }
+}
@@ -0,0 +1,195 @@
+package com.turfbooking.turf_booking_backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BookingCommandExecutorTest {
+
+    @Test
+    void disabledExecutorRunsOnCallingThread() {
+        BookingCommandExecutor executor = new BookingCommandExecutor(false, 4, 1000);
+
+        assertEquals(Thread.currentThread(), executor.execute(1L, Thread::currentThread));
+        assertEquals(0L, executor.getStats().get("completed"));
+        assertTrue(turfs(executor).isEmpty());
+    }
+
+    @Test
+    void commandsForOneTurfRunOneAtATimeOnAVirtualThread() throws Exception {
+        BookingCommandExecutor executor = new BookingCommandExecutor(true, 1000, 10_000);
+        List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+        int[] running = new int[1];
+        int[] maxRunning = new int[1];
+
+        ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            List<Future<Thread>> results = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                int n = i;
+                results.add(callers.submit(() -> executor.execute(7L, () -> {
+                    // Not synchronized on purpose: only one command per turf may run at a time
+                    maxRunning[0] = Math.max(maxRunning[0], ++running[0]);
+                    order.add(n);
+                    running[0]--;
+                    return Thread.currentThread();
+                })));
+            }
+            for (Future<Thread> result : results) {
+                Thread worker = result.get();
+                assertTrue(worker.isVirtual());
+                assertNotEquals(Thread.currentThread(), worker);
+            }
+        } finally {
+            callers.shutdown();
+        }
+
+        assertEquals(1, maxRunning[0]);
+        assertEquals(200, order.size());
+        assertEquals(200L, executor.getStats().get("completed"));
+    }
+
+    @Test
+    void fullMailboxFailsFast() throws Exception {
+        BookingCommandExecutor executor = new BookingCommandExecutor(true, 1, 10_000);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            Future<Integer> blocking = callers.submit(() -> executor.execute(3L, () -> {
+                started.countDown();
+                await(release);
+                return 1;
+            }));
+            started.await();
+            Future<Integer> queued = callers.submit(() -> executor.execute(3L, () -> 2));
+            while (queueDepth(executor, 3L) < 1) {
+                Thread.sleep(5);
+            }
+
+            RuntimeException e = assertThrows(RuntimeException.class, () -> executor.execute(3L, () -> 3));
+            assertEquals("Booking system is busy, please try again", e.getMessage());
+            // Other turfs are unaffected
+            assertEquals(4, executor.execute(4L, () -> 4));
+
+            // Long enough that turf 3's queued command clearly waited more than turf 4's
+            Thread.sleep(20);
+            release.countDown();
+            assertEquals(1, blocking.get());
+            assertEquals(2, queued.get());
+        } finally {
+            callers.shutdown();
+        }
+
+        Map<String, Object> stats = executor.getStats();
+        assertEquals(1L, stats.get("rejected"));
+        assertEquals(3L, stats.get("completed"));
+        assertEquals(2L, turfs(executor).get(3L).get("completed"));
+        assertEquals(1L, turfs(executor).get(4L).get("completed"));
+        // The queued command waited for the blocking one, so turf 3 shows the wait
+        assertTrue((double) turfs(executor).get(3L).get("maxWaitMs") > (double) turfs(executor).get(4L).get("maxWaitMs"));
+    }
+
+    @Test
+    void commandExceptionsReachTheCaller() {
+        BookingCommandExecutor executor = new BookingCommandExecutor(true, 4, 1000);
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> executor.execute(1L, () -> {
+            throw new RuntimeException("Time slot is not available");
+        }));
+        assertEquals("Time slot is not available", e.getMessage());
+    }
+
+    @Test
+    void callerGivesUpOnACommandThatHasNotStarted() throws Exception {
+        BookingCommandExecutor executor = new BookingCommandExecutor(true, 4, 100);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean ranLate = new AtomicBoolean();
+
+        ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            Future<Integer> running = callers.submit(() -> executor.execute(5L, () -> {
+                started.countDown();
+                await(release);
+                return 1;
+            }));
+            started.await();
+
+            RuntimeException stuck = assertThrows(RuntimeException.class, () -> executor.execute(5L, () -> {
+                ranLate.set(true);
+                return 2;
+            }));
+            assertEquals("Booking system is busy, please try again", stuck.getMessage());
+            // The first command had already started, so its caller is told it may still complete
+            ExecutionException slow = assertThrows(ExecutionException.class, running::get);
+            assertEquals("Booking request is still being processed, please check your bookings before retrying",
+                    slow.getCause().getMessage());
+            release.countDown();
+        } finally {
+            callers.shutdown();
+            callers.awaitTermination(5, TimeUnit.SECONDS);
+        }
+
+        assertEquals(1, executor.execute(5L, () -> 1));
+        assertFalse(ranLate.get());
+        assertEquals(2L, executor.getStats().get("timedOut"));
+        assertEquals(2L, executor.getStats().get("completed"));
+    }
+
+    @Test
+    void drainedMailboxesAreDropped() throws Exception {
+        BookingCommandExecutor executor = new BookingCommandExecutor(true, 4, 1000);
+
+        for (long turfId = 1; turfId <= 50; turfId++) {
+            long id = turfId;
+            assertEquals(id, executor.execute(id, () -> id));
+        }
+        // The drainer retires its mailbox just after completing the last command
+        for (int i = 0; i < 100 && executor.mailboxCount() > 0; i++) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(0, executor.mailboxCount());
+        assertEquals(50L, executor.getStats().get("completed"));
+        // Wait stats outlive the mailboxes
+        assertEquals(50, turfs(executor).size());
+        assertEquals(0, queueDepth(executor, 50L));
+        assertEquals(7, executor.execute(7L, () -> 7));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Long, Map<String, Object>> turfs(BookingCommandExecutor executor) {
+        return (Map<Long, Map<String, Object>>) executor.getStats().get("turfs");
+    }
+
+    private static int queueDepth(BookingCommandExecutor executor, Long turfId) {
+        Map<String, Object> turf = turfs(executor).get(turfId);
+        return turf != null ? (int) turf.get("queueDepth") : 0;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
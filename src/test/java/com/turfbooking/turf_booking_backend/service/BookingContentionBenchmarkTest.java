@@ -0,0 +1,130 @@
+package com.turfbooking.turf_booking_backend.service;
+
+import com.turfbooking.turf_booking_backend.entity.Turf;
+import com.turfbooking.turf_booking_backend.entity.User;
+import com.turfbooking.turf_booking_backend.repository.BookingRepository;
+import com.turfbooking.turf_booking_backend.repository.TurfRepository;
+import com.turfbooking.turf_booking_backend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Hundreds of virtual threads racing for one prime-time slot must produce
+ * exactly one booking, while requests for other turf-days are not held up.
+ */
+@Tag("benchmark")
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "spring.jpa.show-sql=false"
+})
+@Import(BookingServiceTestConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BookingContentionBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingContentionBenchmarkTest.class);
+
+    private static final int REQUESTS = 300;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private TurfRepository turfRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll();
+        turfRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void hotSlotIsBookedExactlyOnce() throws Exception {
+        User user = userRepository.save(new User("Hot", "Slot", "hot@example.com", "secret", "0000000000"));
+        Turf turf = turfRepository.save(new Turf("Hot Turf", "", "Hot City", BigDecimal.valueOf(1200), user));
+        LocalDate date = LocalDate.now().plusDays(7);
+
+        AtomicInteger succeeded = new AtomicInteger();
+        long elapsed = race(REQUESTS, i -> {
+            bookingService.createBooking(user.getId(), turf.getId(), date, LocalTime.of(19, 0), LocalTime.of(20, 0),
+                    "Hot Slot", "0000000000", "hot@example.com", "UPI");
+            succeeded.incrementAndGet();
+        });
+
+        log.info("{} concurrent requests on one slot: {} succeeded in {}ms", REQUESTS, succeeded.get(), elapsed / 1_000_000);
+        assertEquals(1, succeeded.get());
+        assertEquals(1, bookingRepository.count());
+    }
+
+    @Test
+    void distinctTurfDaysAllSucceed() throws Exception {
+        User user = userRepository.save(new User("Many", "Days", "many@example.com", "secret", "0000000000"));
+        Turf turf = turfRepository.save(new Turf("Busy Turf", "", "Busy City", BigDecimal.valueOf(900), user));
+        LocalDate start = LocalDate.now().plusDays(1);
+
+        long elapsed = race(REQUESTS, i ->
+                bookingService.createBooking(user.getId(), turf.getId(), start.plusDays(i), LocalTime.of(19, 0),
+                        LocalTime.of(20, 0), "Many Days", "0000000000", "many@example.com", "UPI"));
+
+        log.info("{} concurrent requests on distinct days: all done in {}ms", REQUESTS, elapsed / 1_000_000);
+        assertEquals(REQUESTS, bookingRepository.count());
+    }
+
+    private long race(int count, BookingAttempt attempt) throws Exception {
+        CountDownLatch go = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>(count);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < count; i++) {
+                int n = i;
+                futures.add(executor.submit(() -> {
+                    go.await();
+                    try {
+                        attempt.run(n);
+                    } catch (RuntimeException expectedForLosers) {
+                        // Slot taken
+                    }
+                    return null;
+                }));
+            }
+            long started = System.nanoTime();
+            go.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return System.nanoTime() - started;
+        }
+    }
+
+    private interface BookingAttempt {
+        void run(int n);
+    }
+}
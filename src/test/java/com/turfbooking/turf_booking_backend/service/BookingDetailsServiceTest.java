@@ -0,0 +1,158 @@
+package com.turfbooking.turf_booking_backend.service;
+
+import com.turfbooking.turf_booking_backend.dto.BookingDetailsDTO;
+import com.turfbooking.turf_booking_backend.dto.CursorPageDTO;
+import com.turfbooking.turf_booking_backend.entity.Booking;
+import com.turfbooking.turf_booking_backend.entity.BookingDailyRollup;
+import com.turfbooking.turf_booking_backend.entity.Payment;
+import com.turfbooking.turf_booking_backend.entity.Turf;
+import com.turfbooking.turf_booking_backend.entity.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "spring.jpa.show-sql=false"
+})
+@Import(BookingDetailsService.class)
+class BookingDetailsServiceTest {
+
+    private static final LocalDate DATE = LocalDate.of(2030, 6, 1);
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private BookingDetailsService bookingDetailsService;
+
+    private User user;
+    private Turf turf;
+
+    @BeforeEach
+    void setUp() {
+        user = new User("Seek", "User", "seek@example.com", "secret", "0000000000");
+        entityManager.persist(user);
+        turf = new Turf("Seek Turf", "", "Seek City", BigDecimal.valueOf(1000), user);
+        entityManager.persist(turf);
+    }
+
+    @Test
+    void cursorPagesWalkEveryBookingNewestFirst() {
+        // Two bookings share each (date, startTime) so the id tiebreak is exercised
+        for (int day = 0; day < 3; day++) {
+            persist(DATE.plusDays(day), 18);
+            persist(DATE.plusDays(day), 18);
+            persist(DATE.plusDays(day), 7);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Long> expected = bookingDetailsService.getBookingDetailsByTurf(turf.getId()).stream()
+                .sorted(Comparator.comparing(BookingDetailsDTO::bookingDate)
+                        .thenComparing(BookingDetailsDTO::startTime)
+                        .thenComparing(BookingDetailsDTO::id).reversed())
+                .map(BookingDetailsDTO::id).toList();
+        List<Long> walked = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPageDTO<BookingDetailsDTO> page = bookingDetailsService.getBookingDetailsByTurfAfter(turf.getId(), cursor, 2, false);
+            assertNull(page.getTotalElements());
+            page.getContent().forEach(dto -> walked.add(dto.id()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(9, walked.size());
+        assertEquals(5, pages);
+        assertEquals(expected, walked);
+        assertFalse(bookingDetailsService.getBookingDetailsByTurfAfter(turf.getId(), null, 9, false).isHasNext());
+    }
+
+    @Test
+    void cursorTotalIsReadFromTheDailyRollup() {
+        assertEquals(0L, bookingDetailsService.getBookingDetailsByTurfAfter(turf.getId(), null, 10, true).getTotalElements());
+
+        for (int day = 0; day < 2; day++) {
+            BookingDailyRollup rollup = new BookingDailyRollup(turf.getId(), DATE.plusDays(day));
+            rollup.add(Booking.BookingStatus.CONFIRMED, Booking.BookingType.ONLINE, BigDecimal.TEN, 1);
+            rollup.add(Booking.BookingStatus.PENDING, Booking.BookingType.ONLINE, BigDecimal.TEN, 1);
+            entityManager.persist(rollup);
+        }
+        entityManager.flush();
+
+        assertEquals(4L, bookingDetailsService.getBookingDetailsByTurfAfter(turf.getId(), null, 10, true).getTotalElements());
+    }
+
+    @Test
+    void offsetPagesCountTheBookingsExactly() {
+        for (int hour = 6; hour < 9; hour++) {
+            persist(DATE, hour);
+        }
+        entityManager.flush();
+
+        Page<BookingDetailsDTO> page = bookingDetailsService.getBookingDetailsByTurfPaginated(turf.getId(), PageRequest.of(0, 2));
+        assertEquals(3L, page.getTotalElements());
+        assertEquals(2, page.getContent().size());
+    }
+
+    @Test
+    void projectsContactFallbackWithoutManagingEntities() {
+        Booking walkIn = persist(DATE, 18);
+        walkIn.setFullName("Walk In");
+        Payment payment = new Payment();
+        payment.setBooking(walkIn);
+        payment.setAmount(new BigDecimal("1000.00"));
+        payment.setPaymentMethod("CARD");
+        entityManager.persist(payment);
+        persist(DATE, 7);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<BookingDetailsDTO> rows = bookingDetailsService.getBookingDetailsByTurf(turf.getId());
+
+        assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+        assertEquals(List.of("Walk In", "Seek User"), rows.stream().map(BookingDetailsDTO::userName).toList());
+        assertEquals("seek@example.com", rows.get(0).userEmail());
+        assertEquals("CARD", rows.get(0).paymentMethod());
+        assertEquals("Seek Turf", rows.get(1).turfName());
+        assertEquals("CONFIRMED", rows.get(1).status());
+        assertNull(rows.get(1).paymentMethod());
+    }
+
+    @Test
+    void rejectsMalformedCursor() {
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> bookingDetailsService.getBookingDetailsByTurfAfter(turf.getId(), "not-a-cursor", 10, false));
+        assertEquals("Invalid cursor", e.getMessage());
+    }
+
+    private Booking persist(LocalDate date, int hour) {
+        Booking booking = new Booking(user, turf, date, LocalTime.of(hour, 0), LocalTime.of(hour + 1, 0));
+        booking.setStatus(Booking.BookingStatus.CONFIRMED);
+        booking.setBookingType(Booking.BookingType.ONLINE);
+        entityManager.persist(booking);
+        return booking;
+    }
+}
@@ -0,0 +1,107 @@
+package com.turfbooking.turf_booking_backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.turfbooking.turf_booking_backend.entity.Booking;
+import com.turfbooking.turf_booking_backend.entity.Turf;
+import com.turfbooking.turf_booking_backend.entity.User;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "spring.jpa.show-sql=false"
+})
+@Import(BookingExportService.class)
+class BookingExportServiceTest {
+
+    private static final LocalDate DATE = LocalDate.of(2030, 6, 1);
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private BookingExportService bookingExportService;
+
+    private Turf turf;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User("Export", "User", "export@example.com", "secret", "+91 98765 43210");
+        entityManager.persist(user);
+        turf = new Turf("Export Turf", "", "Export City", BigDecimal.valueOf(1000), user);
+        entityManager.persist(turf);
+
+        Booking walkIn = new Booking(user, turf, DATE, LocalTime.of(18, 0), LocalTime.of(19, 0));
+        walkIn.setStatus(Booking.BookingStatus.CONFIRMED);
+        walkIn.setBookingType(Booking.BookingType.ONLINE);
+        walkIn.setFullName("Smith, \"Jo\"");
+        walkIn.setEmail("=HYPERLINK(\"x\")");
+        walkIn.setPaymentMode("UPI");
+        walkIn.setTotalAmount(new BigDecimal("1000.50"));
+        entityManager.persist(walkIn);
+
+        Booking early = new Booking(user, turf, DATE, LocalTime.of(6, 0), LocalTime.of(7, 0));
+        early.setStatus(Booking.BookingStatus.PENDING);
+        early.setBookingType(Booking.BookingType.ONLINE);
+        entityManager.persist(early);
+
+        Booking later = new Booking(user, turf, DATE.plusDays(10), LocalTime.of(8, 0), LocalTime.of(9, 0));
+        later.setStatus(Booking.BookingStatus.CANCELLED);
+        later.setBookingType(Booking.BookingType.OFFLINE);
+        entityManager.persist(later);
+        entityManager.flush();
+    }
+
+    @Test
+    void csvIsOrderedFilteredAndEscaped() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = bookingExportService.export(turf.getId(), DATE, DATE.plusDays(1), BookingExportService.Format.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(2, rows);
+        assertEquals(3, lines.length);
+        assertEquals("id,bookingDate,startTime,endTime,status,bookingType,userName,userPhone,userEmail,paymentMethod,totalAmount",
+                lines[0]);
+        // No contact details on the booking, so the user's are used
+        assertEquals(",2030-06-01,06:00,07:00,PENDING,ONLINE,Export User,+91 98765 43210,export@example.com,,",
+                lines[1].substring(lines[1].indexOf(',')));
+        assertEquals(",2030-06-01,18:00,19:00,CONFIRMED,ONLINE,\"Smith, \"\"Jo\"\"\",+91 98765 43210,"
+                        + "\"'=HYPERLINK(\"\"x\"\")\",UPI,1000.50",
+                lines[2].substring(lines[2].indexOf(',')));
+    }
+
+    @Test
+    void ndjsonWritesOneObjectPerLine() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        bookingExportService.export(turf.getId(), null, null, BookingExportService.Format.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        ObjectMapper mapper = new ObjectMapper();
+        JsonNode first = mapper.readTree(lines[1]);
+        assertEquals("Smith, \"Jo\"", first.get("userName").asText());
+        assertEquals(0, new BigDecimal("1000.50").compareTo(first.get("totalAmount").decimalValue()));
+        JsonNode last = mapper.readTree(lines[2]);
+        assertEquals("CANCELLED", last.get("status").asText());
+        assertEquals("OFFLINE", last.get("bookingType").asText());
+        assertTrue(last.get("totalAmount").isNull());
+    }
+}
@@ -0,0 +1,278 @@
+package com.turfbooking.turf_booking_backend.service;
+
+import com.turfbooking.turf_booking_backend.config.BookingSchemaInspector;
+import com.turfbooking.turf_booking_backend.dto.OccupancyHeatmapDTO;
+import com.turfbooking.turf_booking_backend.dto.OwnerDashboardDTO;
+import com.turfbooking.turf_booking_backend.entity.Booking;
+import com.turfbooking.turf_booking_backend.entity.BookingDailyRollup;
+import com.turfbooking.turf_booking_backend.entity.Turf;
+import com.turfbooking.turf_booking_backend.entity.User;
+import com.turfbooking.turf_booking_backend.entity.UserBookingCounters;
+import com.turfbooking.turf_booking_backend.repository.BookingDailyRollupRepository;
+import com.turfbooking.turf_booking_backend.repository.BookingRepository;
+import com.turfbooking.turf_booking_backend.repository.TurfRepository;
+import com.turfbooking.turf_booking_backend.repository.UserRepository;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(BookingServiceTestConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BookingRollupServiceTest {
+
+    private static EmbeddedPostgres postgres;
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRollupService bookingRollupService;
+
+    @Autowired
+    private BookingSchemaInspector schemaInspector;
+
+    @Autowired
+    private BookingDailyRollupRepository rollupRepository;
+
+    @Autowired
+    private OwnerDashboardService ownerDashboardService;
+
+    @Autowired
+    private OccupancyHeatmapService occupancyHeatmapService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private TurfRepository turfRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+    private Turf turf;
+    private LocalDate date;
+
+    @BeforeEach
+    void setUp() {
+        schemaInspector.refresh();
+        bookingRepository.deleteAll();
+        turfRepository.deleteAll();
+        userRepository.deleteAll();
+        user = userRepository.save(new User("Rollup", "User", "rollup@example.com", "secret", "0000000000"));
+        turf = turfRepository.save(new Turf("Rollup Turf", "", "Rollup City", BigDecimal.valueOf(1000), user));
+        date = LocalDate.now().plusDays(3);
+    }
+
+    @Test
+    void bookingWritesKeepTheDayRowInStep() {
+        Booking single = bookingService.createBooking(user.getId(), turf.getId(), date,
+                LocalTime.of(18, 0), LocalTime.of(19, 0), "Rollup User", "0000000000", "rollup@example.com", "UPI");
+        bookingService.createMultipleBookings(user.getId(), turf.getId(), date,
+                List.of(LocalTime.of(20, 0), LocalTime.of(21, 0)), "UPI", "Rollup User", "0000000000", "rollup@example.com");
+        Booking offline = bookingService.createOfflineBooking(user.getId(), turf.getId(), date,
+                LocalTime.of(6, 0), LocalTime.of(7, 0), new BigDecimal("750.00"));
+        bookingService.cancelBooking(single.getId());
+
+        BookingDailyRollup day = row();
+        assertEquals(4, day.getBookingCount());
+        assertEquals(0, new BigDecimal("3750.00").compareTo(day.getTotalAmount()));
+        assertEquals(1, day.getCancelledCount());
+        assertEquals(3, day.getConfirmedCount());
+        assertEquals(0, day.getPendingCount());
+        assertEquals(1, day.getOfflineCount());
+
+        bookingService.deleteOfflineBooking(offline.getId(), user.getId());
+        assertEquals(3, row().getBookingCount());
+        assertEquals(0, row().getOfflineCount());
+
+        UserBookingCounters counters = bookingRollupService.getUserCounters(user.getId());
+        assertEquals(3, counters.getBookingCount());
+        assertEquals(0, new BigDecimal("3000.00").compareTo(counters.getTotalSpent()));
+        assertEquals(1, counters.getCancelledCount());
+        assertEquals(2, counters.getConfirmedCount());
+    }
+
+    @Test
+    void rejectedBookingLeavesRollupUntouched() {
+        bookingService.createBooking(user.getId(), turf.getId(), date,
+                LocalTime.of(18, 0), LocalTime.of(19, 0), "Rollup User", "0000000000", "rollup@example.com", "UPI");
+
+        assertThrows(RuntimeException.class, () -> bookingService.createMultipleBookings(user.getId(), turf.getId(),
+                date, List.of(LocalTime.of(17, 0), LocalTime.of(18, 0)), "UPI", "Rollup User", "0000000000",
+                "rollup@example.com"));
+
+        assertEquals(1, row().getBookingCount());
+        assertEquals(1, row().getPendingCount());
+    }
+
+    @Test
+    void rebuildMatchesIncrementalTotals() {
+        Booking first = bookingService.createBooking(user.getId(), turf.getId(), date,
+                LocalTime.of(8, 0), LocalTime.of(9, 30), "Rollup User", "0000000000", "rollup@example.com", "CASH");
+        bookingService.createBooking(user.getId(), turf.getId(), date.plusDays(1),
+                LocalTime.of(8, 0), LocalTime.of(9, 0), "Rollup User", "0000000000", "rollup@example.com", "UPI");
+        bookingService.confirmBooking(first.getId());
+        BookingDailyRollupRepository.RollupTotals incremental = bookingRollupService.getOwnerTotals(user.getId());
+
+        assertEquals(2, bookingRollupService.rebuild());
+
+        BookingDailyRollupRepository.RollupTotals rebuilt = bookingRollupService.getOwnerTotals(user.getId());
+        assertEquals(incremental.getBookingCount(), rebuilt.getBookingCount());
+        assertEquals(0, incremental.getTotalAmount().compareTo(rebuilt.getTotalAmount()));
+        assertEquals(incremental.getConfirmedCount(), rebuilt.getConfirmedCount());
+        assertEquals(0, new BigDecimal("3000.00").compareTo(rebuilt.getTotalAmount()));
+
+        UserBookingCounters counters = bookingRollupService.getUserCounters(user.getId());
+        assertEquals(2, counters.getBookingCount());
+        assertEquals(1, counters.getConfirmedCount());
+        assertEquals(1, counters.getPendingCount());
+    }
+
+    @Test
+    void paymentModeBreakdownFollowsCreatesAndDeletesAndMatchesRebuild() {
+        bookingService.createMultipleBookings(user.getId(), turf.getId(), date,
+                List.of(LocalTime.of(20, 0), LocalTime.of(21, 0)), "UPI", "Rollup User", "0000000000", "rollup@example.com");
+        Booking card = bookingService.createBooking(user.getId(), turf.getId(), date.plusDays(1),
+                LocalTime.of(8, 0), LocalTime.of(9, 0), "Rollup User", "0000000000", "rollup@example.com", "CARD");
+        Booking offline = bookingService.createOfflineBooking(user.getId(), turf.getId(), date,
+                LocalTime.of(6, 0), LocalTime.of(7, 0), new BigDecimal("750.00"));
+        bookingService.createOfflineBooking(user.getId(), turf.getId(), date,
+                LocalTime.of(7, 0), LocalTime.of(8, 0), new BigDecimal("250.50"));
+        bookingService.cancelBooking(card.getId());
+        bookingService.deleteOfflineBooking(offline.getId(), user.getId());
+
+        Map<String, BookingService.StatsBucket> incremental = byPaymentMode();
+        assertEquals(Map.of(
+                "UPI", new BookingService.StatsBucket(2, new BigDecimal("2000.00")),
+                "CARD", new BookingService.StatsBucket(1, new BigDecimal("1000.00")),
+                "CASH", new BookingService.StatsBucket(1, new BigDecimal("250.50"))), incremental);
+
+        bookingRollupService.rebuild();
+        assertEquals(incremental, byPaymentMode());
+    }
+
+    @Test
+    void ownerDashboardBreaksDownByTurfAndMonth() {
+        Turf idle = turfRepository.save(new Turf("Idle Turf", "", "Rollup City", BigDecimal.valueOf(500), user));
+        bookingService.createBooking(user.getId(), turf.getId(), date,
+                LocalTime.of(8, 0), LocalTime.of(9, 0), "Rollup User", "0000000000", "rollup@example.com", "UPI");
+        bookingService.createBooking(user.getId(), turf.getId(), date.plusMonths(1),
+                LocalTime.of(8, 0), LocalTime.of(9, 0), "Rollup User", "0000000000", "rollup@example.com", "UPI");
+
+        OwnerDashboardDTO dashboard = ownerDashboardService.getDashboard(user.getId());
+
+        assertEquals(2, dashboard.getTotalBookings());
+        assertEquals(List.of(turf.getId(), idle.getId()),
+                dashboard.getTurfs().stream().map(OwnerDashboardDTO.TurfStats::turfId).toList());
+        assertEquals(0, dashboard.getTurfs().get(1).bookings());
+        assertEquals(List.of(String.format("%tY-%<tm", date), String.format("%tY-%<tm", date.plusMonths(1))),
+                dashboard.getMonths().stream().map(OwnerDashboardDTO.MonthStats::month).toList());
+    }
+
+    @Test
+    void heatmapCountsConfirmedHoursAndMatchesRebuild() {
+        int day = date.getDayOfWeek().getValue() - 1;
+        Booking evening = bookingService.createBooking(user.getId(), turf.getId(), date,
+                LocalTime.of(18, 0), LocalTime.of(19, 30), "Rollup User", "0000000000", "rollup@example.com", "UPI");
+        Booking late = bookingService.createBooking(user.getId(), turf.getId(), date,
+                LocalTime.of(23, 0), LocalTime.of(0, 0), "Rollup User", "0000000000", "rollup@example.com", "UPI");
+        assertEquals(0, occupancyHeatmapService.getHeatmap(turf.getId()).getMaxBookedHours());
+
+        bookingService.confirmBooking(evening.getId());
+        bookingService.confirmBooking(late.getId());
+        long[] hours = occupancyHeatmapService.getHeatmap(turf.getId()).getBookedHours()[day];
+        assertEquals(1, hours[18]);
+        assertEquals(1, hours[19]);
+        assertEquals(0, hours[20]);
+        assertEquals(1, hours[23]);
+
+        bookingService.cancelBooking(late.getId());
+        occupancyHeatmapService.checkpoint();
+        assertEquals(2, jdbcTemplate.queryForObject(
+                "SELECT SUM(booked_hours) FROM turf_occupancy_heatmap WHERE turf_id = ?", Long.class, turf.getId()));
+
+        occupancyHeatmapService.rebuild();
+        OccupancyHeatmapDTO rebuilt = occupancyHeatmapService.getHeatmap(turf.getId());
+        assertEquals(1, rebuilt.getBookedHours()[day][18]);
+        assertEquals(1, rebuilt.getBookedHours()[day][19]);
+        assertEquals(0, rebuilt.getBookedHours()[day][23]);
+    }
+
+    @Test
+    void concurrentStatusChangesMoveTheBookingOnlyOnce() throws Exception {
+        Booking booking = bookingService.createBooking(user.getId(), turf.getId(), date,
+                LocalTime.of(18, 0), LocalTime.of(19, 0), "Rollup User", "0000000000", "rollup@example.com", "UPI");
+
+        // Without the row lock two writers read the same previous status and both move it out of PENDING
+        List<Future<?>> writers = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            for (int i = 0; i < 4; i++) {
+                Booking.BookingStatus status = i % 2 == 0 ? Booking.BookingStatus.CONFIRMED : Booking.BookingStatus.CANCELLED;
+                writers.add(executor.submit(() -> {
+                    for (int n = 0; n < 20; n++) {
+                        bookingService.updateBookingStatus(booking.getId(), status);
+                    }
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+        }
+
+        Booking.BookingStatus last = bookingRepository.findById(booking.getId()).orElseThrow().getStatus();
+        BookingDailyRollup day = row();
+        assertEquals(1, day.getBookingCount());
+        assertEquals(0, day.getPendingCount());
+        assertEquals(last == Booking.BookingStatus.CONFIRMED ? 1 : 0, day.getConfirmedCount());
+        assertEquals(last == Booking.BookingStatus.CANCELLED ? 1 : 0, day.getCancelledCount());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, BookingService.StatsBucket> byPaymentMode() {
+        return (Map<String, BookingService.StatsBucket>) bookingService.getBookingStats().get("byPaymentMode");
+    }
+
+    private BookingDailyRollup row() {
+        return rollupRepository.findById(new BookingDailyRollup.Key(turf.getId(), date)).orElseThrow();
+    }
+}
@@ -0,0 +1,17 @@
+package com.turfbooking.turf_booking_backend.service;
+
+import com.turfbooking.turf_booking_backend.config.BookingSchemaInspector;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * BookingService and the collaborators it is wired with, for slice tests that exercise the
+ * real booking write path. A new BookingService dependency is added here only.
+ */
+@TestConfiguration
+@Import({BookingService.class, BookingAvailabilityIndex.class, BookingLockManager.class,
+        BookingSchemaInspector.class, SlotHoldService.class, AvailabilityBroadcaster.class,
+        SlotCalculator.class, BookingRollupService.class, OwnerDashboardService.class,
+        BookingTimeSeriesService.class, OccupancyHeatmapService.class, BookingDetailsService.class})
+public class BookingServiceTestConfiguration {
+}
@@ -0,0 +1,202 @@
+package com.turfbooking.turf_booking_backend.service;
+
+import com.turfbooking.turf_booking_backend.config.BookingSchemaInspector;
+import com.turfbooking.turf_booking_backend.entity.Booking;
+import com.turfbooking.turf_booking_backend.entity.Turf;
+import com.turfbooking.turf_booking_backend.entity.User;
+import com.turfbooking.turf_booking_backend.repository.BookingRepository;
+import com.turfbooking.turf_booking_backend.repository.TurfRepository;
+import com.turfbooking.turf_booking_backend.repository.UserRepository;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(BookingServiceTestConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BookingSlotExclusionTest {
+
+    // Left running until JVM exit: the cached Spring context still holds connections to it.
+    // The schema comes from the Flyway migrations, so context shutdown never touches it
+    private static EmbeddedPostgres postgres;
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingSchemaInspector schemaInspector;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private TurfRepository turfRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+    private Turf turf;
+    private LocalDate date;
+
+    @BeforeEach
+    void setUp() {
+        schemaInspector.refresh();
+        bookingRepository.deleteAll();
+        turfRepository.deleteAll();
+        userRepository.deleteAll();
+        user = userRepository.save(new User("Pg", "User", "pg@example.com", "secret", "0000000000"));
+        turf = turfRepository.save(new Turf("Pg Turf", "", "Pg City", BigDecimal.valueOf(1000), user));
+        date = LocalDate.now().plusDays(3);
+    }
+
+    @Test
+    void constraintIsInstalled() {
+        assertTrue(schemaInspector.isSlotExclusionEnforced());
+    }
+
+    @Test
+    void overlappingBookingIsRejectedAsSlotTaken() {
+        book(LocalTime.of(19, 0), LocalTime.of(20, 0));
+
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> book(LocalTime.of(19, 30), LocalTime.of(20, 30)));
+        assertEquals("Time slot is not available", e.getMessage());
+        assertEquals(1, bookingRepository.count());
+    }
+
+    @Test
+    void cancelledBookingFreesTheSlot() {
+        Booking first = book(LocalTime.of(21, 0), LocalTime.of(22, 0));
+        bookingService.cancelBooking(first.getId());
+
+        book(LocalTime.of(21, 0), LocalTime.of(22, 0));
+        assertEquals(2, bookingRepository.count());
+    }
+
+    @Test
+    void cancelledBookingCannotBeRevivedOverANewOne() {
+        Booking first = book(LocalTime.of(21, 0), LocalTime.of(22, 0));
+        bookingService.cancelBooking(first.getId());
+        book(LocalTime.of(21, 30), LocalTime.of(22, 30));
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> bookingService.confirmBooking(first.getId()));
+        assertEquals("Time slot is no longer available", e.getMessage());
+        assertEquals(Booking.BookingStatus.CANCELLED, bookingRepository.findById(first.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void revivalIsCheckedUnderTheTurfLockWithoutTheConstraint() {
+        ddl("ALTER TABLE bookings DROP CONSTRAINT bookings_no_overlapping_slots");
+        schemaInspector.refresh();
+        assertFalse(schemaInspector.isSlotExclusionEnforced());
+        try {
+            Booking first = book(LocalTime.of(21, 0), LocalTime.of(22, 0));
+            bookingService.cancelBooking(first.getId());
+            Booking second = book(LocalTime.of(21, 30), LocalTime.of(22, 30));
+
+            RuntimeException e = assertThrows(RuntimeException.class, () -> bookingService.confirmBooking(first.getId()));
+            assertEquals("Time slot is no longer available", e.getMessage());
+
+            bookingService.cancelBooking(second.getId());
+            assertEquals(Booking.BookingStatus.CONFIRMED, bookingService.confirmBooking(first.getId()).getStatus());
+        } finally {
+            ddl("ALTER TABLE bookings ADD CONSTRAINT bookings_no_overlapping_slots " +
+                    "EXCLUDE USING gist (turf_id WITH =, slot_range WITH &&) " +
+                    "WHERE (status IN ('PENDING', 'CONFIRMED') OR booking_type = 'OFFLINE')");
+            schemaInspector.refresh();
+        }
+    }
+
+    @Test
+    void slotEndingAtMidnightBlocksOnlyItsOwnDay() {
+        book(LocalTime.of(23, 0), LocalTime.of(0, 0));
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> book(LocalTime.of(23, 30), LocalTime.of(0, 0)));
+        assertEquals("Time slot is not available", e.getMessage());
+        bookingService.createBooking(user.getId(), turf.getId(), date.plusDays(1), LocalTime.of(0, 0), LocalTime.of(1, 0),
+                "Pg User", "0000000000", "pg@example.com", "UPI");
+        assertEquals(2, bookingRepository.count());
+    }
+
+    @Test
+    void olderRowEndingBeforeItsStartIsCappedAtMidnight() {
+        // Written before end times were validated; the index reads it as ending at midnight and so does the range
+        Booking older = new Booking(user, turf, date, LocalTime.of(23, 0), LocalTime.of(1, 0));
+        older.setStatus(Booking.BookingStatus.CONFIRMED);
+        bookingRepository.saveAndFlush(older);
+
+        assertThrows(RuntimeException.class, () -> book(LocalTime.of(23, 30), LocalTime.of(0, 0)));
+        bookingService.createBooking(user.getId(), turf.getId(), date.plusDays(1), LocalTime.of(0, 0), LocalTime.of(1, 0),
+                "Pg User", "0000000000", "pg@example.com", "UPI");
+        assertEquals(2, bookingRepository.count());
+    }
+
+    @Test
+    void endTimeMustBeAfterStart() {
+        RuntimeException e = assertThrows(RuntimeException.class, () -> book(LocalTime.of(10, 0), LocalTime.of(10, 0)));
+        assertEquals("End time must be after start time", e.getMessage());
+        assertThrows(RuntimeException.class, () -> book(LocalTime.of(23, 0), LocalTime.of(1, 0)));
+        assertEquals(0, bookingRepository.count());
+    }
+
+    @Test
+    void multiSlotConflictRollsBackWholeRequest() {
+        book(LocalTime.of(18, 0), LocalTime.of(19, 0));
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> bookingService.createMultipleBookings(
+                user.getId(), turf.getId(), date, List.of(LocalTime.of(16, 0), LocalTime.of(17, 0), LocalTime.of(18, 0)),
+                "UPI", "Pg User", "0000000000", "pg@example.com"));
+        assertEquals("One or more selected slots are no longer available", e.getMessage());
+        assertEquals(1, bookingRepository.count());
+    }
+
+    // The pool hands out connections with auto-commit off
+    private void ddl(String sql) {
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.execute(sql));
+    }
+
+    private Booking book(LocalTime start, LocalTime end) {
+        return bookingService.createBooking(user.getId(), turf.getId(), date, start, end,
+                "Pg User", "0000000000", "pg@example.com", "UPI");
+    }
+}
@@ -0,0 +1,88 @@
+package com.turfbooking.turf_booking_backend.service;
+
+import com.turfbooking.turf_booking_backend.dto.TimeSeriesBucketDTO;
+import com.turfbooking.turf_booking_backend.repository.BookingDailyRollupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingTimeSeriesServiceTest {
+
+    @Mock
+    private BookingDailyRollupRepository rollupRepository;
+
+    private BookingTimeSeriesService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new BookingTimeSeriesService(100);
+        ReflectionTestUtils.setField(service, "rollupRepository", rollupRepository);
+        // 2030-01-31 is a Thursday, 2030-02-03 a Sunday
+        when(rollupRepository.sumByDay(LocalDate.of(2030, 1, 1), LocalDate.of(2030, 2, 28))).thenReturn(List.of(
+                day(LocalDate.of(2030, 1, 31), 2, "1000.00"),
+                day(LocalDate.of(2030, 2, 3), 1, "500.00"),
+                day(LocalDate.of(2030, 2, 4), 4, "2000.00")));
+    }
+
+    @Test
+    void weeksStartOnMondayAndSpanMonthBoundaries() {
+        List<TimeSeriesBucketDTO> weeks = service.getSeries(BookingTimeSeriesService.Granularity.WEEK,
+                LocalDate.of(2030, 1, 28), LocalDate.of(2030, 2, 10), null);
+
+        assertEquals(2, weeks.size());
+        assertEquals(LocalDate.of(2030, 1, 28), weeks.get(0).getPeriodStart());
+        assertEquals(3, weeks.get(0).getBookings());
+        assertEquals(new BigDecimal("1500.00"), weeks.get(0).getRevenue());
+        assertEquals(4, weeks.get(1).getBookings());
+    }
+
+    @Test
+    void monthsAreClippedToTheRequestedRange() {
+        List<TimeSeriesBucketDTO> months = service.getSeries(BookingTimeSeriesService.Granularity.MONTH,
+                LocalDate.of(2030, 1, 1), LocalDate.of(2030, 2, 3), null);
+
+        assertEquals(2, months.size());
+        assertEquals(2, months.get(0).getBookings());
+        assertEquals(LocalDate.of(2030, 2, 1), months.get(1).getPeriodStart());
+        assertEquals(1, months.get(1).getBookings());
+    }
+
+    @Test
+    void cachedMonthsAreReusedUntilABookingChangesThem() {
+        service.getSeries(BookingTimeSeriesService.Granularity.DAY, LocalDate.of(2030, 1, 1), LocalDate.of(2030, 2, 28), null);
+        List<TimeSeriesBucketDTO> days = service.getSeries(BookingTimeSeriesService.Granularity.DAY,
+                LocalDate.of(2030, 1, 30), LocalDate.of(2030, 2, 1), null);
+        assertEquals(List.of(0L, 2L, 0L), days.stream().map(TimeSeriesBucketDTO::getBookings).toList());
+        verify(rollupRepository, times(1)).sumByDay(LocalDate.of(2030, 1, 1), LocalDate.of(2030, 2, 28));
+
+        service.evict(9L, LocalDate.of(2030, 2, 4));
+        when(rollupRepository.sumByDay(LocalDate.of(2030, 2, 1), LocalDate.of(2030, 2, 28))).thenReturn(List.of());
+        service.getSeries(BookingTimeSeriesService.Granularity.MONTH, LocalDate.of(2030, 1, 1), LocalDate.of(2030, 2, 28), null);
+
+        // Only February is reloaded
+        verify(rollupRepository, times(1)).sumByDay(LocalDate.of(2030, 2, 1), LocalDate.of(2030, 2, 28));
+    }
+
+    private static BookingDailyRollupRepository.DayTotals day(LocalDate date, long bookings, String revenue) {
+        return new BookingDailyRollupRepository.DayTotals() {
+            public LocalDate getBookingDate() { return date; }
+            public Long getBookingCount() { return bookings; }
+            public BigDecimal getTotalAmount() { return new BigDecimal(revenue); }
+            public Long getConfirmedCount() { return bookings; }
+            public Long getCancelledCount() { return 0L; }
+        };
+    }
+}
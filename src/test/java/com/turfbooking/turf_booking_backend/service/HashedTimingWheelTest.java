@@ -0,0 +1,54 @@
+package com.turfbooking.turf_booking_backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HashedTimingWheelTest {
+
+    @Test
+    void firesTasksOnlyOnceTheirDeadlinePasses() {
+        HashedTimingWheel wheel = new HashedTimingWheel(1000, 8, 0);
+        List<String> fired = new ArrayList<>();
+        wheel.schedule(() -> fired.add("a"), 2_000);
+        wheel.schedule(() -> fired.add("b"), 5_500);
+
+        wheel.advanceTo(1_999);
+        assertTrue(fired.isEmpty());
+
+        wheel.advanceTo(2_000);
+        assertEquals(List.of("a"), fired);
+
+        wheel.advanceTo(6_000);
+        assertEquals(List.of("a", "b"), fired);
+    }
+
+    @Test
+    void deadlinesBeyondOneRevolutionWaitForTheirRound() {
+        HashedTimingWheel wheel = new HashedTimingWheel(1000, 8, 0);
+        List<String> fired = new ArrayList<>();
+        wheel.schedule(() -> fired.add("late"), 20_000);
+
+        wheel.advanceTo(19_000);
+        assertTrue(fired.isEmpty());
+
+        wheel.advanceTo(20_000);
+        assertEquals(List.of("late"), fired);
+    }
+
+    @Test
+    void cancelledTasksNeverFire() {
+        HashedTimingWheel wheel = new HashedTimingWheel(1000, 8, 0);
+        List<String> fired = new ArrayList<>();
+        HashedTimingWheel.Timeout timeout = wheel.schedule(() -> fired.add("x"), 3_000);
+        wheel.advanceTo(1_000);
+        timeout.cancel();
+
+        wheel.advanceTo(10_000);
+        assertTrue(fired.isEmpty());
+    }
+}
@@ -0,0 +1,142 @@
+package com.turfbooking.turf_booking_backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.turfbooking.turf_booking_backend.entity.IdempotencyRecord;
+import com.turfbooking.turf_booking_backend.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private IdempotencyRecordRepository recordRepository;
+
+    @InjectMocks
+    private IdempotencyService idempotencyService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(idempotencyService, "ttlMinutes", 60L);
+        ReflectionTestUtils.setField(idempotencyService, "maxEntries", 100);
+        ReflectionTestUtils.setField(idempotencyService, "waitMillis", 5000L);
+    }
+
+    @Test
+    void replaysStoredResponseWithoutRunningActionAgain() {
+        AtomicInteger runs = new AtomicInteger();
+        ResponseEntity<?> first = idempotencyService.execute("scope", "key-1", "fp",
+                () -> ResponseEntity.ok(Map.of("id", runs.incrementAndGet())));
+        ResponseEntity<?> second = idempotencyService.execute("scope", "key-1", "fp",
+                () -> ResponseEntity.ok(Map.of("id", runs.incrementAndGet())));
+
+        assertEquals(1, runs.get());
+        assertEquals(Map.of("id", 1), first.getBody());
+        assertEquals("{\"id\":1}", second.getBody());
+        assertEquals("true", second.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+        verifyNoInteractions(recordRepository);
+    }
+
+    @Test
+    void failedResponsesAreNotRetained() {
+        AtomicInteger runs = new AtomicInteger();
+        idempotencyService.execute("scope", "key-2", "fp", () -> {
+            runs.incrementAndGet();
+            return ResponseEntity.badRequest().body("Failed to create booking: Time slot is not available");
+        });
+        idempotencyService.execute("scope", "key-2", "fp", () -> ResponseEntity.ok(Map.of("id", runs.incrementAndGet())));
+
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    void keyReusedWithDifferentPayloadIsRejected() {
+        idempotencyService.execute("scope", "key-3", "fp-a", () -> ResponseEntity.ok(Map.of("id", 1)));
+
+        ResponseEntity<?> reused = idempotencyService.execute("scope", "key-3", "fp-b",
+                () -> ResponseEntity.ok(Map.of("id", 2)));
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, reused.getStatusCode());
+    }
+
+    @Test
+    void concurrentDuplicatesCollapseOntoOneExecution() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            List<Future<ResponseEntity<?>>> results = new java.util.ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                results.add(executor.submit(() -> idempotencyService.execute("scope", "key-4", "fp", () -> {
+                    runs.incrementAndGet();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return ResponseEntity.ok(Map.of("id", 7));
+                })));
+            }
+            Thread.sleep(200);
+            release.countDown();
+            for (Future<ResponseEntity<?>> result : results) {
+                assertEquals(HttpStatus.OK, result.get().getStatusCode());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void persistedRecordKeyFitsTheColumnWhateverTheScope() {
+        ReflectionTestUtils.setField(idempotencyService, "persist", true);
+        String scope = "POST /bookings:" + "a".repeat(400) + "@example.com";
+        String key = "k".repeat(255);
+
+        idempotencyService.execute(scope, key, "fp", () -> ResponseEntity.ok(Map.of("id", 1)));
+
+        ArgumentCaptor<IdempotencyRecord> saved = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        verify(recordRepository).findById(IdempotencyService.recordKey(scope, key));
+        verify(recordRepository).save(saved.capture());
+        assertEquals(64, saved.getValue().getRecordKey().length());
+        // Another user's identical header value is a different record
+        assertNotEquals(IdempotencyService.recordKey("POST /bookings:b@example.com", key), saved.getValue().getRecordKey());
+    }
+
+    @Test
+    void requestsWithoutKeyAlwaysRun() {
+        AtomicInteger runs = new AtomicInteger();
+        idempotencyService.execute("scope", null, null, () -> ResponseEntity.ok(runs.incrementAndGet()));
+        ResponseEntity<?> second = idempotencyService.execute("scope", null, null,
+                () -> ResponseEntity.ok(runs.incrementAndGet()));
+
+        assertEquals(2, runs.get());
+        assertNull(second.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+    }
+}
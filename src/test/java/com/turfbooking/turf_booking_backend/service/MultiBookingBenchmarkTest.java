@@ -0,0 +1,141 @@
+package com.turfbooking.turf_booking_backend.service;
+
+import com.turfbooking.turf_booking_backend.entity.Booking;
+import com.turfbooking.turf_booking_backend.entity.Turf;
+import com.turfbooking.turf_booking_backend.entity.User;
+import com.turfbooking.turf_booking_backend.repository.BookingRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the batched multi-slot booking path with the previous
+ * query-and-save-per-slot loop by statements issued; per-request latency is logged.
+ */
+@Tag("benchmark")
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import(BookingServiceTestConfiguration.class)
+class MultiBookingBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(MultiBookingBenchmarkTest.class);
+
+    private static final List<LocalTime> SLOTS = List.of(
+            LocalTime.of(16, 0), LocalTime.of(17, 0), LocalTime.of(18, 0),
+            LocalTime.of(19, 0), LocalTime.of(20, 0), LocalTime.of(21, 0));
+    private static final int REQUESTS = 200;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRollupService bookingRollupService;
+
+    private User user;
+    private Turf turf;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        user = new User("Bench", "User", "multi@example.com", "secret", "0000000000");
+        entityManager.persist(user);
+        turf = new Turf("Bench Turf", "", "Bench City", BigDecimal.valueOf(800), user);
+        entityManager.persist(turf);
+        entityManager.flush();
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void batchedPathIssuesFewerStatements() {
+        LocalDate base = LocalDate.now().plusYears(1);
+
+        long legacyStatements = statements(() -> legacyLoop(base));
+        long batchedStatements = statements(() -> batched(base.plusDays(1)));
+        log.info("6-slot request statements: legacy loop={}, batched={}", legacyStatements, batchedStatements);
+        assertTrue(batchedStatements < legacyStatements);
+
+        long legacyNanos = time(i -> legacyLoop(base.plusDays(10 + i)));
+        long batchedNanos = time(i -> batched(base.plusDays(10 + REQUESTS + i)));
+        log.info("6-slot request latency: legacy loop={}us, batched={}us", legacyNanos / 1_000, batchedNanos / 1_000);
+    }
+
+    @Test
+    void conflictRejectsWholeRequest() {
+        LocalDate date = LocalDate.now().plusYears(2);
+        batched(date);
+        long before = bookingRepository.count();
+
+        assertThrows(RuntimeException.class, () -> bookingService.createMultipleBookings(
+                user.getId(), turf.getId(), date, List.of(LocalTime.of(10, 0), LocalTime.of(21, 0)),
+                "UPI", "Bench User", "0000000000", "multi@example.com"));
+        assertEquals(before, bookingRepository.count());
+    }
+
+    private void batched(LocalDate date) {
+        bookingService.createMultipleBookings(user.getId(), turf.getId(), date, SLOTS,
+                "UPI", "Bench User", "0000000000", "multi@example.com");
+        entityManager.flush();
+    }
+
+    // The pre-batching implementation: one conflict query, insert and rollup update per slot
+    private void legacyLoop(LocalDate date) {
+        List<Booking> created = new ArrayList<>();
+        for (LocalTime start : SLOTS) {
+            LocalTime end = start.plusHours(1);
+            if (!bookingRepository.findConflictingBookings(turf.getId(), date, start, end).isEmpty()) {
+                throw new RuntimeException("One or more selected slots are no longer available");
+            }
+            Booking booking = new Booking(user, turf, date, start, end);
+            booking.setTotalAmount(turf.getPricePerHour());
+            booking.setStatus(Booking.BookingStatus.CONFIRMED);
+            Booking saved = bookingRepository.save(booking);
+            bookingRollupService.recordCreated(List.of(saved));
+            created.add(saved);
+        }
+        entityManager.flush();
+    }
+
+    private long statements(Runnable request) {
+        statistics.clear();
+        request.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private long time(IntConsumer request) {
+        long start = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            request.accept(i);
+        }
+        return (System.nanoTime() - start) / REQUESTS;
+    }
+}
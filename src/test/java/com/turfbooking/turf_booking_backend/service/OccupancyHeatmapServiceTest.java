@@ -0,0 +1,182 @@
+package com.turfbooking.turf_booking_backend.service;
+
+import com.turfbooking.turf_booking_backend.entity.Booking;
+import com.turfbooking.turf_booking_backend.entity.Turf;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class OccupancyHeatmapServiceTest {
+
+    // A Monday and the Sunday after it
+    private static final LocalDate MONDAY = LocalDate.of(2030, 1, 7);
+    private static final LocalDate SUNDAY = LocalDate.of(2030, 1, 13);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private OccupancyHeatmapService heatmapService;
+
+    private Turf turf;
+
+    @BeforeEach
+    void setUp() {
+        turf = new Turf();
+        turf.setId(1L);
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    void countsEveryStartedHourOnTheBookingsWeekday() {
+        heatmapService.recordTransition(booking(MONDAY, 18, 0, 20, 0), null, Booking.BookingStatus.CONFIRMED);
+        heatmapService.recordTransition(booking(MONDAY, 18, 30, 19, 15), null, Booking.BookingStatus.CONFIRMED);
+        heatmapService.recordTransition(booking(SUNDAY, 23, 0, 0, 0), null, Booking.BookingStatus.CONFIRMED);
+
+        long[][] hours = heatmapService.getHeatmap(1L).getBookedHours();
+        assertEquals(2, hours[0][18]);
+        assertEquals(2, hours[0][19]);
+        assertEquals(0, hours[0][20]);
+        assertEquals(1, hours[6][23]);
+        assertEquals(2, heatmapService.getHeatmap(1L).getMaxBookedHours());
+    }
+
+    @Test
+    void onlyTransitionsIntoOrOutOfConfirmedAndCompletedMoveTheCounts() {
+        Booking booking = booking(MONDAY, 7, 0, 8, 0);
+
+        heatmapService.recordTransition(booking, null, Booking.BookingStatus.PENDING);
+        heatmapService.recordTransition(booking, Booking.BookingStatus.PENDING, Booking.BookingStatus.CANCELLED);
+        assertEquals(0, cell(0, 7));
+
+        heatmapService.recordTransition(booking, Booking.BookingStatus.PENDING, Booking.BookingStatus.CONFIRMED);
+        assertEquals(1, cell(0, 7));
+        heatmapService.recordTransition(booking, Booking.BookingStatus.CONFIRMED, Booking.BookingStatus.COMPLETED);
+        assertEquals(1, cell(0, 7));
+
+        heatmapService.recordTransition(booking, Booking.BookingStatus.COMPLETED, Booking.BookingStatus.CANCELLED);
+        assertEquals(0, cell(0, 7));
+
+        heatmapService.recordTransition(booking, null, Booking.BookingStatus.CONFIRMED);
+        heatmapService.recordTransition(booking, Booking.BookingStatus.CONFIRMED, null);
+        assertArrayEquals(new long[24], heatmapService.getHeatmap(1L).getBookedHours()[0]);
+    }
+
+    @Test
+    void rebuildWaitsForARunningCheckpointAndDropsItsCounters() throws Exception {
+        heatmapService.recordTransition(booking(MONDAY, 9, 0, 10, 0), null, Booking.BookingStatus.CONFIRMED);
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch finishWrite = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            writing.countDown();
+            finishWrite.await();
+            return 1;
+        }).when(jdbcTemplate).batchUpdate(eq(OccupancyHeatmapService.CHECKPOINT_SQL), anyList());
+
+        Thread checkpointer = Thread.ofVirtual().start(heatmapService::checkpoint);
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        Thread rebuilder = Thread.ofPlatform().start(heatmapService::rebuild);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (rebuilder.getState() != Thread.State.WAITING) {
+            assertTrue(System.nanoTime() < deadline, "rebuild did not wait for the checkpoint");
+            Thread.onSpinWait();
+        }
+        finishWrite.countDown();
+        checkpointer.join();
+        rebuilder.join();
+
+        // The checkpoint finished first, and the pre-rebuild counters are gone afterwards
+        InOrder order = inOrder(jdbcTemplate);
+        order.verify(jdbcTemplate).batchUpdate(anyString(), anyList());
+        order.verify(jdbcTemplate).update("DELETE FROM turf_occupancy_heatmap");
+        order.verify(jdbcTemplate).update(OccupancyHeatmapService.REBUILD_SQL);
+        heatmapService.checkpoint();
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void checkpointAddsOnlyTheDeltasSinceTheLastOne() {
+        Booking booking = booking(MONDAY, 9, 0, 10, 0);
+        heatmapService.recordTransition(booking, null, Booking.BookingStatus.CONFIRMED);
+        heatmapService.recordTransition(booking(MONDAY, 9, 0, 10, 0), null, Booking.BookingStatus.CONFIRMED);
+        heatmapService.checkpoint();
+
+        heatmapService.recordTransition(booking, Booking.BookingStatus.CONFIRMED, Booking.BookingStatus.CANCELLED);
+        heatmapService.checkpoint();
+        // Nothing changed since, so nothing is written
+        heatmapService.checkpoint();
+
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.captor();
+        verify(jdbcTemplate, times(2)).batchUpdate(eq(OccupancyHeatmapService.CHECKPOINT_SQL), rows.capture());
+        assertArrayEquals(new Object[]{1L, 1, 9, 2L}, rows.getAllValues().get(0).get(0));
+        assertArrayEquals(new Object[]{1L, 1, 9, -1L}, rows.getAllValues().get(1).get(0));
+        assertEquals(1, rows.getAllValues().get(1).size());
+    }
+
+    @Test
+    void checkpointPicksUpWhatOtherInstancesWrote() {
+        heatmapService.recordTransition(booking(MONDAY, 9, 0, 10, 0), null, Booking.BookingStatus.CONFIRMED);
+        // After the upsert the table holds this instance's hour plus two written elsewhere
+        doAnswer(invocation -> {
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getInt("day_of_week")).thenReturn(1);
+            when(rs.getInt("hour_of_day")).thenReturn(9);
+            when(rs.getLong("booked_hours")).thenReturn(3L);
+            invocation.<RowCallbackHandler>getArgument(1).processRow(rs);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), eq(1L));
+
+        heatmapService.checkpoint();
+
+        assertEquals(3, cell(0, 9));
+    }
+
+    private long cell(int day, int hour) {
+        return heatmapService.getHeatmap(1L).getBookedHours()[day][hour];
+    }
+
+    private Booking booking(LocalDate date, int startHour, int startMinute, int endHour, int endMinute) {
+        return new Booking(null, turf, date, LocalTime.of(startHour, startMinute), LocalTime.of(endHour, endMinute));
+    }
+}
@@ -0,0 +1,92 @@
+package com.turfbooking.turf_booking_backend.service;
+
+import com.turfbooking.turf_booking_backend.dto.OwnerDashboardDTO;
+import com.turfbooking.turf_booking_backend.repository.BookingDailyRollupRepository;
+import com.turfbooking.turf_booking_backend.repository.TurfRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OwnerDashboardServiceTest {
+
+    @Mock
+    private BookingDailyRollupRepository rollupRepository;
+
+    @Mock
+    private TurfRepository turfRepository;
+
+    private OwnerDashboardService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new OwnerDashboardService(60_000);
+        ReflectionTestUtils.setField(service, "rollupRepository", rollupRepository);
+        ReflectionTestUtils.setField(service, "turfRepository", turfRepository);
+    }
+
+    @Test
+    void repeatedReadsAreServedFromMemory() {
+        when(rollupRepository.sumByOwnerPerTurf(7L)).thenReturn(List.of(turf(1L, 3, "2400.00"), turf(2L, 1, "900.00")));
+        when(rollupRepository.sumByOwnerPerMonth(7L)).thenReturn(List.of());
+
+        OwnerDashboardDTO first = service.getDashboard(7L);
+        assertEquals(4, first.getTotalBookings());
+        assertEquals(new BigDecimal("3300.00"), first.getTotalRevenue());
+        assertSame(first, service.getDashboard(7L));
+
+        verify(rollupRepository, times(1)).sumByOwnerPerTurf(7L);
+    }
+
+    @Test
+    void bookingOnOwnedTurfEvictsTheOwner() {
+        when(rollupRepository.sumByOwnerPerTurf(7L)).thenReturn(List.of(turf(1L, 3, "2400.00")));
+        when(rollupRepository.sumByOwnerPerMonth(7L)).thenReturn(List.of());
+        service.getDashboard(7L);
+
+        // Turf 1 was seen while computing, so no lookup is needed to find its owner
+        service.evictTurf(1L);
+        service.getDashboard(7L);
+
+        verify(turfRepository, never()).findOwnerIdById(1L);
+        verify(rollupRepository, times(2)).sumByOwnerPerTurf(7L);
+    }
+
+    @Test
+    void unknownTurfIsResolvedToItsOwner() {
+        when(rollupRepository.sumByOwnerPerTurf(7L)).thenReturn(List.of());
+        when(rollupRepository.sumByOwnerPerMonth(7L)).thenReturn(List.of());
+        when(turfRepository.findOwnerIdById(5L)).thenReturn(Optional.of(7L));
+        service.getDashboard(7L);
+
+        service.evictTurf(5L);
+        service.getDashboard(7L);
+
+        verify(rollupRepository, times(2)).sumByOwnerPerTurf(7L);
+    }
+
+    private static BookingDailyRollupRepository.TurfTotals turf(Long id, long bookings, String revenue) {
+        return new BookingDailyRollupRepository.TurfTotals() {
+            public Long getTurfId() { return id; }
+            public String getTurfName() { return "Turf " + id; }
+            public Long getBookingCount() { return bookings; }
+            public BigDecimal getTotalAmount() { return new BigDecimal(revenue); }
+            public Long getConfirmedCount() { return bookings; }
+            public Long getCancelledCount() { return 0L; }
+        };
+    }
+}
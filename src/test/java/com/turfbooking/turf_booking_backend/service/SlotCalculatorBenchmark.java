@@ -0,0 +1,92 @@
+package com.turfbooking.turf_booking_backend.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH comparison of the former inline slot validation and pricing in BookingService
+ * against SlotCalculator. Run through SlotCalculatorBenchmarkTest.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SlotCalculatorBenchmark {
+
+    private static final BigDecimal PRICE_PER_HOUR = new BigDecimal("1200.00");
+
+    private SlotCalculator calculator;
+    private LocalDate today;
+    private List<LocalTime> lateNightSlots;
+
+    @Setup
+    public void setUp() {
+        calculator = new SlotCalculator();
+        today = LocalDate.now();
+        // Late-night slots on today's date take the most expensive branch of the old check
+        lateNightSlots = List.of(LocalTime.of(0, 0), LocalTime.of(1, 0), LocalTime.of(2, 0));
+    }
+
+    @Benchmark
+    public void legacySingle(Blackhole blackhole) {
+        LocalTime start = LocalTime.of(2, 0);
+        LocalTime end = LocalTime.of(3, 30);
+        blackhole.consume(legacyValidate(today, start));
+        Duration duration = Duration.between(start, end);
+        long hours = duration.toHours();
+        if (duration.toMinutesPart() > 0) {
+            hours++;
+        }
+        blackhole.consume(PRICE_PER_HOUR.multiply(BigDecimal.valueOf(hours)));
+    }
+
+    @Benchmark
+    public void calculatorSingle(Blackhole blackhole) {
+        blackhole.consume(calculator.plan(today, LocalTime.of(2, 0), LocalTime.of(3, 30)).totalPrice(PRICE_PER_HOUR));
+    }
+
+    @Benchmark
+    public void legacyMulti(Blackhole blackhole) {
+        if (today.isBefore(LocalDate.now())) {
+            throw new IllegalStateException();
+        }
+        for (LocalTime start : lateNightSlots) {
+            blackhole.consume(start.plusHours(1));
+            blackhole.consume(legacyValidate(today, start));
+            blackhole.consume(PRICE_PER_HOUR);
+        }
+    }
+
+    @Benchmark
+    public void calculatorMulti(Blackhole blackhole) {
+        SlotCalculator.SlotPlan plan = calculator.planHourly(today, lateNightSlots);
+        for (int i = 0; i < plan.size(); i++) {
+            blackhole.consume(plan.endMinute(i));
+            blackhole.consume(plan.price(i, PRICE_PER_HOUR));
+        }
+    }
+
+    // The check previously repeated inline in createBooking and createMultipleBookings
+    private static boolean legacyValidate(LocalDate date, LocalTime start) {
+        LocalDate now = LocalDate.now();
+        if (date.isBefore(now)) {
+            throw new IllegalStateException();
+        }
+        boolean isLateNightSlot = start.getHour() >= 0 && start.getHour() < 3;
+        return date.equals(now) &&
+                ((!isLateNightSlot && start.isBefore(LocalTime.now())) ||
+                        (isLateNightSlot && start.isBefore(LocalTime.now()) && LocalTime.now().getHour() < 3));
+    }
+}
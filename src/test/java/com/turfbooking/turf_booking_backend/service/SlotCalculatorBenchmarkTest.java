@@ -0,0 +1,51 @@
+package com.turfbooking.turf_booking_backend.service;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs SlotCalculatorBenchmark in-process with short iterations and logs the scores; use the
+ * JMH runner with forks for publishable numbers.
+ */
+@Tag("benchmark")
+class SlotCalculatorBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(SlotCalculatorBenchmarkTest.class);
+
+    @Test
+    void runsEveryBenchmark() throws Exception {
+        Options options = new OptionsBuilder()
+                .include(SlotCalculatorBenchmark.class.getName())
+                .forks(0)
+                .warmupIterations(2)
+                .warmupTime(TimeValue.milliseconds(300))
+                .measurementIterations(3)
+                .measurementTime(TimeValue.milliseconds(300))
+                .build();
+
+        Map<String, Double> scores = new TreeMap<>();
+        Collection<RunResult> results = new Runner(options).run();
+        for (RunResult result : results) {
+            String name = result.getParams().getBenchmark();
+            scores.put(name.substring(name.lastIndexOf('.') + 1), result.getPrimaryResult().getScore());
+        }
+        log.info("slot validation+pricing ns/op: {}", scores);
+
+        assertEquals(Set.of("legacySingle", "calculatorSingle", "legacyMulti", "calculatorMulti"),
+                scores.keySet());
+    }
+}
@@ -0,0 +1,95 @@
+package com.turfbooking.turf_booking_backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SlotCalculatorTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2030, 1, 5);
+    private static final BigDecimal PRICE = new BigDecimal("800.00");
+
+    @Test
+    void rejectsPastDatesAndSlotsThatAlreadyStarted() {
+        SlotCalculator calculator = at(18, 30);
+
+        RuntimeException pastDate = assertThrows(RuntimeException.class,
+                () -> calculator.plan(TODAY.minusDays(1), LocalTime.of(20, 0), LocalTime.of(21, 0)));
+        assertEquals("Booking date cannot be in the past", pastDate.getMessage());
+
+        assertThrows(RuntimeException.class,
+                () -> calculator.planHourly(TODAY, List.of(LocalTime.of(19, 0), LocalTime.of(18, 0))));
+        assertDoesNotThrow(() -> calculator.planHourly(TODAY, List.of(LocalTime.of(19, 0), LocalTime.of(20, 0))));
+        assertDoesNotThrow(() -> calculator.plan(TODAY.plusDays(1), LocalTime.of(6, 0), LocalTime.of(7, 0)));
+    }
+
+    @Test
+    void lateNightSlotsTodayAreUpcomingUntilTheNightStarts() {
+        // At 22:00 the 01:00 slot on today's date is tonight's, so still bookable
+        assertDoesNotThrow(() -> at(22, 0).plan(TODAY, LocalTime.of(1, 0), LocalTime.of(2, 0)));
+
+        // At 01:30 it has already begun
+        SlotCalculator afterMidnight = at(1, 30);
+        assertThrows(RuntimeException.class, () -> afterMidnight.plan(TODAY, LocalTime.of(1, 0), LocalTime.of(2, 0)));
+        assertDoesNotThrow(() -> afterMidnight.plan(TODAY, LocalTime.of(2, 0), LocalTime.of(3, 0)));
+    }
+
+    @Test
+    void pricesStartedHoursInFullIncludingSlotsPastMidnight() {
+        SlotCalculator calculator = at(9, 0);
+
+        assertEquals(new BigDecimal("1600.00"),
+                calculator.plan(TODAY, LocalTime.of(18, 0), LocalTime.of(19, 30)).totalPrice(PRICE));
+        assertEquals(new BigDecimal("800.00"),
+                calculator.plan(TODAY, LocalTime.of(23, 0), LocalTime.of(0, 0)).totalPrice(PRICE));
+        assertEquals(new BigDecimal("800.00"), calculator.price(LocalTime.of(23, 0), LocalTime.of(0, 0), PRICE));
+
+        SlotCalculator.SlotPlan plan = calculator.planHourly(TODAY, List.of(LocalTime.of(22, 0), LocalTime.of(23, 0)));
+        assertEquals(1440, plan.endMinute(1));
+        assertEquals(LocalTime.MIDNIGHT, plan.endTime(1));
+        assertEquals(PRICE, plan.price(1, PRICE));
+        assertEquals(new BigDecimal("1600.00"), plan.totalPrice(PRICE));
+    }
+
+    @Test
+    void hourlySlotStartingAfterElevenEndsAtMidnight() {
+        SlotCalculator.SlotPlan plan = at(9, 0).planHourly(TODAY, List.of(LocalTime.of(23, 30)));
+
+        assertEquals(1410, plan.startMinute(0));
+        assertEquals(1440, plan.endMinute(0));
+        assertEquals(LocalTime.MIDNIGHT, plan.endTime(0));
+        assertEquals(PRICE, plan.totalPrice(PRICE));
+    }
+
+    @Test
+    void rejectsSlotsThatDoNotEndAfterTheyStart() {
+        SlotCalculator calculator = at(9, 0);
+
+        RuntimeException same = assertThrows(RuntimeException.class,
+                () -> calculator.plan(TODAY, LocalTime.of(10, 0), LocalTime.of(10, 0)));
+        assertEquals("End time must be after start time", same.getMessage());
+        assertThrows(RuntimeException.class, () -> calculator.plan(TODAY, LocalTime.of(23, 0), LocalTime.of(1, 0)));
+        assertThrows(RuntimeException.class, () -> calculator.plan(TODAY.plusDays(1), LocalTime.of(0, 0), LocalTime.of(0, 0)));
+        assertThrows(RuntimeException.class, () -> calculator.price(LocalTime.of(10, 0), LocalTime.of(10, 0), PRICE));
+        assertThrows(RuntimeException.class, () -> calculator.price(LocalTime.of(20, 0), LocalTime.of(19, 0), PRICE));
+
+        // Whatever the calculator accepts, the index reads the same end minute
+        SlotCalculator.SlotPlan plan = calculator.plan(TODAY, LocalTime.of(22, 30), LocalTime.of(0, 0));
+        assertEquals(BookingAvailabilityIndex.toEndMinute(plan.startMinute(0), LocalTime.MIDNIGHT), plan.endMinute(0));
+    }
+
+    private static SlotCalculator at(int hour, int minute) {
+        LocalDateTime now = LocalDateTime.of(TODAY, LocalTime.of(hour, minute));
+        return new SlotCalculator(Clock.fixed(now.toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+    }
+}
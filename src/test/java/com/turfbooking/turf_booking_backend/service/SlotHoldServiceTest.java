@@ -0,0 +1,159 @@
+package com.turfbooking.turf_booking_backend.service;
+
+import com.turfbooking.turf_booking_backend.entity.Turf;
+import com.turfbooking.turf_booking_backend.repository.TurfRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class SlotHoldServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+    private static final LocalDate DATE = TODAY.plusDays(3);
+
+    @Mock
+    private BookingAvailabilityIndex availabilityIndex;
+
+    @Mock
+    private AvailabilityBroadcaster availabilityBroadcaster;
+
+    @Mock
+    private TurfRepository turfRepository;
+
+    @Spy
+    private BookingLockManager bookingLockManager = new BookingLockManager(16, 1000);
+
+    // Evening of the real current date, so every same-day slot before 18:00 has started
+    @Spy
+    private SlotCalculator slotCalculator = new SlotCalculator(Clock.fixed(
+            LocalDateTime.of(TODAY, LocalTime.of(18, 0)).atZone(ZoneId.systemDefault()).toInstant(),
+            ZoneId.systemDefault()));
+
+    @InjectMocks
+    private SlotHoldService slotHoldService;
+
+    private Turf turf;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(slotHoldService, "ttlMinutes", 10L);
+        ReflectionTestUtils.setField(slotHoldService, "maxSlotsPerHold", 3);
+        ReflectionTestUtils.setField(slotHoldService, "maxLiveHoldsPerUser", 2);
+        turf = new Turf();
+        turf.setId(1L);
+        when(turfRepository.findById(1L)).thenReturn(Optional.of(turf));
+        when(availabilityIndex.isAvailable(anyLong(), any(), any(), any())).thenReturn(true);
+    }
+
+    @Test
+    void holdBlocksOtherUsersButNotItsOwner() {
+        SlotHoldService.SlotHold hold = slotHoldService.hold(7L, 1L, DATE, List.of(LocalTime.of(19, 0), LocalTime.of(18, 0)));
+
+        assertEquals(List.of(LocalTime.of(18, 0), LocalTime.of(19, 0)), hold.getSlotStarts());
+        assertTrue(slotHoldService.isHeldByOther(1L, DATE, LocalTime.of(19, 30), LocalTime.of(20, 30), 8L));
+        assertFalse(slotHoldService.isHeldByOther(1L, DATE, LocalTime.of(19, 0), LocalTime.of(20, 0), 7L));
+        assertThrows(RuntimeException.class, () -> slotHoldService.hold(8L, 1L, DATE, List.of(LocalTime.of(19, 0))));
+
+        slotHoldService.release(hold.getHoldId(), 7L);
+        assertFalse(slotHoldService.isHeldByOther(1L, DATE, LocalTime.of(19, 0), LocalTime.of(20, 0), 8L));
+        assertTrue(slotHoldService.getHeldStartTimes(1L, DATE).isEmpty());
+    }
+
+    @Test
+    void rejectsMissingOrInactiveTurfs() {
+        when(turfRepository.findById(2L)).thenReturn(Optional.empty());
+        RuntimeException missing = assertThrows(RuntimeException.class,
+                () -> slotHoldService.hold(7L, 2L, DATE, List.of(LocalTime.of(19, 0))));
+        assertEquals("Turf not found", missing.getMessage());
+
+        turf.setIsActive(false);
+        RuntimeException inactive = assertThrows(RuntimeException.class,
+                () -> slotHoldService.hold(7L, 1L, DATE, List.of(LocalTime.of(19, 0))));
+        assertEquals("Turf is not available for booking", inactive.getMessage());
+    }
+
+    @Test
+    void rejectsSlotsThatAlreadyStartedToday() {
+        assertThrows(RuntimeException.class, () -> slotHoldService.hold(7L, 1L, TODAY, List.of(LocalTime.of(17, 0))));
+        assertThrows(RuntimeException.class, () -> slotHoldService.hold(7L, 1L, TODAY.minusDays(1), List.of(LocalTime.of(19, 0))));
+
+        slotHoldService.hold(7L, 1L, TODAY, List.of(LocalTime.of(19, 0)));
+    }
+
+    @Test
+    void limitsSlotsPerHoldAndLiveHoldsPerUser() {
+        RuntimeException tooMany = assertThrows(RuntimeException.class, () -> slotHoldService.hold(7L, 1L, DATE,
+                List.of(LocalTime.of(16, 0), LocalTime.of(17, 0), LocalTime.of(18, 0), LocalTime.of(19, 0))));
+        assertEquals("A hold can cover at most 3 slots", tooMany.getMessage());
+
+        SlotHoldService.SlotHold first = slotHoldService.hold(7L, 1L, DATE, List.of(LocalTime.of(6, 0)));
+        slotHoldService.hold(7L, 1L, DATE.plusDays(1), List.of(LocalTime.of(6, 0)));
+        RuntimeException third = assertThrows(RuntimeException.class,
+                () -> slotHoldService.hold(7L, 1L, DATE.plusDays(2), List.of(LocalTime.of(6, 0))));
+        assertEquals("You can hold at most 2 sets of slots at a time", third.getMessage());
+
+        // Another user is unaffected, and releasing a hold frees a place
+        slotHoldService.hold(8L, 1L, DATE.plusDays(2), List.of(LocalTime.of(6, 0)));
+        slotHoldService.release(first.getHoldId(), 7L);
+        slotHoldService.hold(7L, 1L, DATE.plusDays(3), List.of(LocalTime.of(6, 0)));
+    }
+
+    @Test
+    void holdAddedWhileTheDaySetEmptiesStaysVisible() throws Exception {
+        // Two users keep holding and releasing their own hour, so the day's set is emptied and
+        // recreated constantly; a hold added to a set that was just dropped would be invisible
+        AtomicInteger invisible = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            for (int user = 1; user <= 2; user++) {
+                long userId = user;
+                LocalTime start = LocalTime.of(5 + user, 0);
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 20_000; i++) {
+                        SlotHoldService.SlotHold hold = slotHoldService.hold(userId, 1L, DATE, List.of(start));
+                        if (!slotHoldService.isHeldByOther(1L, DATE, start, start.plusHours(1), 0L)) {
+                            invisible.incrementAndGet();
+                        }
+                        slotHoldService.release(hold.getHoldId(), userId);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        assertEquals(0, invisible.get());
+        assertTrue(slotHoldService.getHeldStartTimes(1L, DATE).isEmpty());
+    }
+}
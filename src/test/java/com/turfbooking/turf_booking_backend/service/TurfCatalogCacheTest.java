@@ -0,0 +1,79 @@
+package com.turfbooking.turf_booking_backend.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class TurfCatalogCacheTest {
+
+    private static final TurfCatalogCache.ActiveList LIST = new TurfCatalogCache.ActiveList();
+
+    @Test
+    void repeatedReadsHitUntilTheTurfChanges() {
+        TurfCatalogCache cache = new TurfCatalogCache(60_000, 16);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(LIST, () -> List.of("a", loads.incrementAndGet()));
+        cache.get(LIST, () -> List.of("a", loads.incrementAndGet()));
+        cache.get(new TurfCatalogCache.TurfById(1L), () -> "turf-1");
+        cache.get(new TurfCatalogCache.TurfById(2L), () -> "turf-2");
+        assertEquals(1, loads.get());
+
+        // An unlisted (pending) turf only drops its own entry
+        cache.evictTurf(1L, false);
+        cache.get(LIST, () -> List.of("a", loads.incrementAndGet()));
+        assertEquals(1, loads.get());
+        assertEquals("turf-1b", cache.get(new TurfCatalogCache.TurfById(1L), () -> "turf-1b"));
+        assertEquals("turf-2", cache.get(new TurfCatalogCache.TurfById(2L), () -> "turf-2b"));
+
+        // A listed turf also drops the list and every page
+        cache.get(new TurfCatalogCache.ActivePage(PageRequest.of(0, 10)), () -> "page-0");
+        cache.evictTurf(2L, true);
+        cache.get(LIST, () -> List.of("a", loads.incrementAndGet()));
+        assertEquals(2, loads.get());
+        assertEquals("page-0b", cache.get(new TurfCatalogCache.ActivePage(PageRequest.of(0, 10)), () -> "page-0b"));
+
+        TurfCatalogCache.Stats stats = cache.getStats();
+        assertEquals(3, stats.hits());
+        assertEquals(7, stats.misses());
+        assertEquals(4, stats.invalidations());
+        assertEquals(0, stats.evictions());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedAndExpiredEntries() {
+        TurfCatalogCache bounded = new TurfCatalogCache(60_000, 2);
+        bounded.get(new TurfCatalogCache.TurfById(1L), () -> "turf-1");
+        bounded.get(new TurfCatalogCache.TurfById(2L), () -> "turf-2");
+        bounded.get(new TurfCatalogCache.TurfById(1L), () -> "unused");
+        bounded.get(new TurfCatalogCache.TurfById(3L), () -> "turf-3");
+
+        assertEquals("turf-1", bounded.get(new TurfCatalogCache.TurfById(1L), () -> "reloaded"));
+        assertEquals("turf-2b", bounded.get(new TurfCatalogCache.TurfById(2L), () -> "turf-2b"));
+        assertEquals(2, bounded.getStats().size());
+
+        TurfCatalogCache expiring = new TurfCatalogCache(0, 16);
+        expiring.get(LIST, () -> "old");
+        assertEquals("new", expiring.get(LIST, () -> "new"));
+        assertEquals(1, expiring.getStats().evictions());
+    }
+
+    @Test
+    void loadThatRacedWithAWriteIsNotCached() {
+        TurfCatalogCache cache = new TurfCatalogCache(60_000, 16);
+
+        cache.get(LIST, () -> {
+            cache.evictTurf(5L, true);
+            return "stale";
+        });
+        assertEquals("fresh", cache.get(LIST, () -> "fresh"));
+
+        assertNull(cache.get(new TurfCatalogCache.TurfById(9L), () -> null));
+        assertEquals("created", cache.get(new TurfCatalogCache.TurfById(9L), () -> "created"));
+    }
+}